@@ -0,0 +1,170 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka;
+
+import cl.cromer.azaraka.sound.Sound;
+import cl.cromer.azaraka.sound.SoundException;
+import cl.cromer.azaraka.sprite.AssetCache;
+import cl.cromer.azaraka.sprite.SheetException;
+import cl.cromer.azaraka.sprite.TextureAtlas;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * This class loads the images and sounds of the game in parallel in the background, the tiles and the characters are
+ * loaded first so that the first frame can be drawn as soon as possible, anything the game asks for before it has been
+ * loaded is loaded right away or waited for if it is already being loaded
+ */
+public class AssetPreloader implements Constants {
+	/**
+	 * The sounds used by the game
+	 */
+	private static final String[] SOUNDS = {
+			"/snd/GameLoop.wav",
+			"/snd/GameOver.wav",
+			"/snd/Success.wav",
+			"/snd/GetKey.wav",
+			"/snd/OpenChest.wav",
+			"/snd/Portal.wav",
+			"/snd/EnemyAttack.wav",
+			"/snd/Door.wav",
+			"/snd/GetGem.wav"
+	};
+	/**
+	 * The logger
+	 */
+	private final Logger logger;
+	/**
+	 * The sounds that have been loaded or are being loaded, by path
+	 */
+	private final Map<String, FutureTask<Sound>> sounds = new ConcurrentHashMap<>();
+	/**
+	 * The number of assets that have been loaded
+	 */
+	private final AtomicInteger loaded = new AtomicInteger(0);
+
+	/**
+	 * Initialize the asset preloader
+	 */
+	public AssetPreloader() {
+		logger = getLogger(this.getClass(), LogLevel.MAIN);
+	}
+
+	/**
+	 * Start loading all the assets in the background
+	 *
+	 * @param listener The listener that is told every time an asset finishes loading
+	 */
+	public void start(LoadProgressListener listener) {
+		AssetCache assetCache = AssetCache.getInstance();
+		List<Runnable> tasks = new ArrayList<>();
+
+		// What is needed for the first frame goes first
+		tasks.add(() -> assetCache.getSheet("/img/textures/dungeon.png", 64, 64));
+		tasks.add(() -> assetCache.getSheet("/img/player/chara2.png", 54, 39));
+		tasks.add(() -> assetCache.getSheet("/img/enemy/chara4.png", 54, 39));
+		tasks.add(() -> assetCache.getSheet("/img/chest/chests.png", 54, 63));
+		tasks.add(() -> assetCache.getSheet("/img/key/key.png", 24, 24));
+		TextureAtlas textureAtlas = assetCache.getTextureAtlas();
+		for (String sequence : textureAtlas.getSequenceNames()) {
+			tasks.add(() -> {
+				try {
+					textureAtlas.getFrames(sequence);
+				}
+				catch (SheetException e) {
+					logger.warning(e.getMessage());
+				}
+			});
+		}
+		tasks.add(() -> {
+			try {
+				assetCache.getImage("/img/gameover/gameover.png");
+			}
+			catch (IOException e) {
+				logger.warning(e.getMessage());
+			}
+		});
+		for (String sound : SOUNDS) {
+			tasks.add(() -> {
+				try {
+					getSound(sound);
+				}
+				catch (SoundException e) {
+					logger.warning(e.getMessage());
+				}
+			});
+		}
+
+		int total = tasks.size();
+		ExecutorService executorService = Executors.newFixedThreadPool(ASSET_LOADER_THREADS, runnable -> {
+			Thread thread = new Thread(runnable);
+			// Don't keep the game open if it is closed while loading
+			thread.setDaemon(true);
+			return thread;
+		});
+		for (Runnable task : tasks) {
+			executorService.execute(() -> {
+				task.run();
+				listener.loadProgress(loaded.incrementAndGet(), total);
+			});
+		}
+		// The threads end once everything is loaded
+		executorService.shutdown();
+	}
+
+	/**
+	 * Get a sound, it is opened the first time it is asked for, if it is already being opened this waits for it
+	 *
+	 * @param path The path to the sound
+	 * @return Returns the sound
+	 * @throws SoundException Thrown if the sound could not be loaded
+	 */
+	public Sound getSound(String path) throws SoundException {
+		FutureTask<Sound> task = sounds.get(path);
+		if (task == null) {
+			FutureTask<Sound> newTask = new FutureTask<>(() -> new Sound(path));
+			task = sounds.putIfAbsent(path, newTask);
+			if (task == null) {
+				task = newTask;
+				task.run();
+			}
+		}
+		try {
+			return task.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SoundException("Interrupted while loading sound: " + path);
+		}
+		catch (ExecutionException e) {
+			sounds.remove(path, task);
+			if (e.getCause() instanceof SoundException) {
+				throw (SoundException) e.getCause();
+			}
+			throw new SoundException(e.getCause().getMessage());
+		}
+	}
+}
\ No newline at end of file
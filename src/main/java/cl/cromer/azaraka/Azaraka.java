@@ -15,7 +15,19 @@
 
 package cl.cromer.azaraka;
 
+import cl.cromer.azaraka.json.Json;
+import cl.cromer.azaraka.json.JsonCell;
+import cl.cromer.azaraka.object.Gem;
+import cl.cromer.azaraka.object.Portal;
+import cl.cromer.azaraka.replay.Replay;
+import cl.cromer.azaraka.replay.ReplayException;
+import cl.cromer.azaraka.sprite.TextureAtlasBuilder;
+
 import javax.swing.JFrame;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.logging.Logger;
 
 /**
@@ -26,6 +38,26 @@ public class Azaraka implements Constants {
 	 * The logger
 	 */
 	private final Logger logger;
+	/**
+	 * The images and sounds loaded in the background
+	 */
+	private final AssetPreloader assetPreloader = new AssetPreloader();
+	/**
+	 * The scene layouts made in the background for new games
+	 */
+	private final ScenePool scenePool = new ScenePool();
+	/**
+	 * How fast the games are played compared to real time
+	 */
+	private final double timeScale;
+	/**
+	 * The replay to play in the window, null to play new games
+	 */
+	private final Replay replay;
+	/**
+	 * Whether the games played in the window are recorded
+	 */
+	private final boolean record;
 	/**
 	 * The main window
 	 */
@@ -33,28 +65,221 @@ public class Azaraka implements Constants {
 
 	/**
 	 * The main game class
+	 *
+	 * @param timeScale How fast the games are played compared to real time, 0 plays as fast as possible
+	 * @param replay    The replay to play, or null to play new games
+	 * @param record    Whether the new games are recorded
 	 */
-	private Azaraka() {
+	private Azaraka(double timeScale, Replay replay, boolean record) {
+		this.timeScale = timeScale;
+		this.replay = replay;
+		this.record = record;
 		logger = getLogger(this.getClass(), LogLevel.MAIN);
+		assetPreloader.start((loaded, total) -> logger.info("Loaded " + loaded + " of " + total + " assets"));
+		scenePool.start();
 		start();
 	}
 
 	/**
-	 * Open the main window
+	 * Open the main window, or play without a window if --headless is passed, a seed can be passed after --headless to
+	 * play the same match again, --replay followed by a file plays a recorded match, --speed followed by a number or max
+	 * changes how fast the game is played, by default the window plays in real time and a game without a window plays
+	 * as fast as possible, --max-ticks followed by a number stops a game played without a window after that many ticks,
+	 * --record saves the games played to the replay directory and --batch plays many matches with the arguments of the
+	 * batch runner
 	 *
 	 * @param args The arguments passed to the application
 	 */
 	public static void main(String[] args) {
-		int validCells = (HORIZONTAL_CELLS - 2) * (VERTICAL_CELLS - 2);
-		validCells = validCells - ENEMIES;
-		validCells = validCells - (CHESTS * 2);
-		validCells = validCells - OBSTACLES;
+		int validCells = new GameSettings().getValidCells();
 		if (validCells < 10) {
 			// This is to prevent a possible infinite loop
 			System.out.println("Not enough valid cells: " + validCells + "!");
 			System.exit(0);
 		}
-		new Azaraka();
+		if (EXPORT_ATLAS) {
+			exportAtlas();
+		}
+		if (args.length > 0 && args[0].equals("--batch")) {
+			BatchRunner.main(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
+
+		boolean headless = false;
+		GameRandom gameRandom = null;
+		Double timeScale = null;
+		long maxTicks = MAX_TICKS;
+		String replayPath = null;
+		boolean record = RECORD_REPLAYS;
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("--headless")) {
+				headless = true;
+				if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+					try {
+						gameRandom = new GameRandom(Long.parseLong(args[++i]));
+					}
+					catch (NumberFormatException e) {
+						System.out.println("Invalid seed: " + args[i] + "!");
+						System.exit(1);
+						return;
+					}
+				}
+			}
+			else if (args[i].equals("--replay") && i + 1 < args.length) {
+				replayPath = args[++i];
+			}
+			else if (args[i].equals("--max-ticks") && i + 1 < args.length) {
+				try {
+					maxTicks = Long.parseLong(args[++i]);
+					if (maxTicks < 1) {
+						throw new NumberFormatException();
+					}
+				}
+				catch (NumberFormatException e) {
+					System.out.println("Invalid max ticks: " + args[i] + "!");
+					System.exit(1);
+					return;
+				}
+			}
+			else if (args[i].equals("--record")) {
+				record = true;
+			}
+			else if (args[i].equals("--speed") && i + 1 < args.length) {
+				String speed = args[++i];
+				try {
+					timeScale = speed.equals("max") ? 0 : Double.parseDouble(speed);
+					if (timeScale <= 0 && !speed.equals("max")) {
+						throw new NumberFormatException();
+					}
+				}
+				catch (NumberFormatException e) {
+					System.out.println("Invalid speed: " + speed + "!");
+					System.exit(1);
+					return;
+				}
+			}
+			else {
+				System.out.println("Unknown argument: " + args[i] + "!");
+				System.exit(1);
+				return;
+			}
+		}
+
+		if (headless) {
+			System.setProperty("java.awt.headless", "true");
+		}
+		Replay replay = null;
+		if (replayPath != null) {
+			try {
+				replay = new Replay(new File(replayPath));
+			}
+			catch (ReplayException e) {
+				System.out.println(e.getMessage() + "!");
+				System.exit(1);
+				return;
+			}
+		}
+
+		if (headless && replay != null) {
+			playReplayHeadless(replay);
+		}
+		else if (headless) {
+			if (gameRandom == null) {
+				gameRandom = new GameRandom();
+			}
+			playHeadless(gameRandom, timeScale != null ? timeScale : HEADLESS_TIME_SCALE, maxTicks, record);
+		}
+		else {
+			new Azaraka(timeScale != null ? timeScale : TIME_SCALE, replay, record);
+		}
+	}
+
+	/**
+	 * Pack the frames of the animations into the texture atlas
+	 */
+	private static void exportAtlas() {
+		TextureAtlasBuilder textureAtlasBuilder = new TextureAtlasBuilder();
+		textureAtlasBuilder.add("portal/green", Portal.getFramePaths("green"));
+		textureAtlasBuilder.add("portal/gray", Portal.getFramePaths("gray"));
+		textureAtlasBuilder.add("gem/gray", Gem.getFramePaths("gray"));
+		textureAtlasBuilder.add("gem/blue", Gem.getFramePaths("blue"));
+		textureAtlasBuilder.add("gem/red", Gem.getFramePaths("red"));
+		List<String> hearts = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			hearts.add("/img/heart/heart" + i + ".png");
+		}
+		textureAtlasBuilder.add("heart", hearts);
+		textureAtlasBuilder.writeIndex();
+	}
+
+	/**
+	 * Play a game without a window and print the result when it ends
+	 *
+	 * @param gameRandom The random numbers of the match
+	 * @param timeScale  How fast the game is played compared to real time, 0 plays as fast as possible
+	 * @param maxTicks   The number of ticks after which the game is stopped if it hasn't ended
+	 * @param record     Whether the game is recorded
+	 */
+	private static void playHeadless(GameRandom gameRandom, double timeScale, long maxTicks, boolean record) {
+		if (PLAYER_AI == PlayerAIType.HUMAN) {
+			System.out.println("Headless mode needs an AI player!");
+			System.exit(1);
+		}
+		// The seed is carried by the layout, or by the game when the scene is generated
+		SceneLayout layout = null;
+		if (!GENERATE_SCENE) {
+			JsonCell[][] jsonCells = new Json().importScene();
+			if (jsonCells != null) {
+				layout = new SceneLayout(jsonCells, new GameSettings(), gameRandom);
+			}
+		}
+		Game game = new Game(null, layout, gameRandom, 0, 0);
+		File replayFile = null;
+		if (record) {
+			replayFile = game.startRecording();
+		}
+		if (timeScale > 0) {
+			game.setTimeScale(timeScale);
+			game.playPaced(maxTicks);
+		}
+		else {
+			game.play(maxTicks);
+		}
+		printResult(game);
+		if (replayFile != null) {
+			System.out.println("Replay: " + replayFile);
+		}
+	}
+
+	/**
+	 * Play a replay without a window as fast as possible and print the result when it ends
+	 *
+	 * @param replay The replay to play
+	 */
+	private static void playReplayHeadless(Replay replay) {
+		Game game = new Game(null, replay.getLayout(), 0, 0);
+		game.setReplay(replay);
+		game.play(Long.MAX_VALUE);
+		printResult(game);
+	}
+
+	/**
+	 * Print how a game ended
+	 *
+	 * @param game The game
+	 */
+	private static void printResult(Game game) {
+		String result;
+		if (game.isWon()) {
+			result = "win";
+		}
+		else if (game.isGameOver()) {
+			result = "loss";
+		}
+		else {
+			result = "stopped";
+		}
+		System.out.println("Result: " + result + " Ticks: " + game.getTicks() + " Health: " + game.getPlayer().getHealth() + " Seed: " + game.getGameRandom().getSeed());
 	}
 
 	/**
@@ -66,6 +291,51 @@ public class Azaraka implements Constants {
 		start();
 	}
 
+	/**
+	 * Get the asset preloader
+	 *
+	 * @return Returns the asset preloader
+	 */
+	public AssetPreloader getAssetPreloader() {
+		return assetPreloader;
+	}
+
+	/**
+	 * Get how fast the games are played compared to real time
+	 *
+	 * @return Returns the time scale, 0 if the games are played as fast as possible
+	 */
+	public double getTimeScale() {
+		return timeScale;
+	}
+
+	/**
+	 * Get the replay to play in the window
+	 *
+	 * @return Returns the replay, or null if new games are played
+	 */
+	public Replay getReplay() {
+		return replay;
+	}
+
+	/**
+	 * Check if the new games played in the window are recorded
+	 *
+	 * @return Returns true if the games are recorded
+	 */
+	public boolean isRecording() {
+		return record;
+	}
+
+	/**
+	 * Get the pool of scene layouts
+	 *
+	 * @return Returns the scene pool
+	 */
+	public ScenePool getScenePool() {
+		return scenePool;
+	}
+
 	/**
 	 * Load the main game window to start
 	 */
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka;
+
+import cl.cromer.azaraka.json.Json;
+import cl.cromer.azaraka.json.JsonCell;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.logging.Logger;
+
+/**
+ * This class plays many games without a view at the same time and prints how the AI did, every combination of the
+ * given AI types, heuristics and amounts of enemies is played
+ */
+public class BatchRunner implements Constants {
+	/**
+	 * The logger
+	 */
+	private final Logger logger;
+	/**
+	 * The grid the games are played in
+	 */
+	private final JsonCell[][] jsonCells;
+	/**
+	 * The settings to play, the given number of matches is played for each one
+	 */
+	private final List<GameSettings> settingsList;
+	/**
+	 * The number of matches to play for each setting
+	 */
+	private final int matches;
+	/**
+	 * The number of threads to play with
+	 */
+	private final int threads;
+	/**
+	 * The seed the seeds of the matches are made from
+	 */
+	private final long seed;
+	/**
+	 * The number of ticks after which a match is stopped
+	 */
+	private final long maxTicks;
+
+	/**
+	 * Initialize the batch runner
+	 *
+	 * @param jsonCells    The grid the games are played in
+	 * @param settingsList The settings to play
+	 * @param matches      The number of matches to play for each setting
+	 * @param threads      The number of threads to play with
+	 * @param seed         The seed the seeds of the matches are made from
+	 * @param maxTicks     The number of ticks after which a match is stopped
+	 */
+	public BatchRunner(JsonCell[][] jsonCells, List<GameSettings> settingsList, int matches, int threads, long seed, long maxTicks) {
+		logger = getLogger(this.getClass(), LogLevel.GAME);
+		this.jsonCells = jsonCells;
+		this.settingsList = settingsList;
+		this.matches = matches;
+		this.threads = threads;
+		this.seed = seed;
+		this.maxTicks = maxTicks;
+	}
+
+	/**
+	 * Play the matches and print the results, the arguments are:
+	 * --matches n, --threads n, --seed n, --max-ticks n and comma separated lists for --ai, --heuristic and --enemies
+	 *
+	 * @param args The arguments passed to the batch runner
+	 */
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+
+		int matches = 100;
+		int threads = Runtime.getRuntime().availableProcessors();
+		long seed = new SplittableRandom().nextLong();
+		long maxTicks = MAX_TICKS;
+		List<PlayerAIType> playerAIs = new ArrayList<>();
+		List<AIHeuristic> heuristics = new ArrayList<>();
+		List<Integer> enemies = new ArrayList<>();
+		try {
+			for (int i = 0; i < args.length; i++) {
+				if (i + 1 == args.length) {
+					throw new IllegalArgumentException("Missing value for " + args[i]);
+				}
+				String value = args[++i];
+				switch (args[i - 1]) {
+					case "--matches":
+						matches = Integer.parseInt(value);
+						break;
+					case "--threads":
+						threads = Integer.parseInt(value);
+						break;
+					case "--seed":
+						seed = Long.parseLong(value);
+						break;
+					case "--max-ticks":
+						maxTicks = Long.parseLong(value);
+						break;
+					case "--ai":
+						for (String playerAI : value.split(",")) {
+							playerAIs.add(PlayerAIType.valueOf(playerAI.trim().toUpperCase()));
+						}
+						break;
+					case "--heuristic":
+						for (String heuristic : value.split(",")) {
+							heuristics.add(AIHeuristic.valueOf(heuristic.trim().toUpperCase()));
+						}
+						break;
+					case "--enemies":
+						for (String enemy : value.split(",")) {
+							enemies.add(Integer.parseInt(enemy.trim()));
+						}
+						break;
+					default:
+						throw new IllegalArgumentException("Unknown argument " + args[i - 1]);
+				}
+			}
+			if (matches < 1 || threads < 1 || maxTicks < 1) {
+				throw new IllegalArgumentException("The matches, threads and max ticks have to be more than 0");
+			}
+		}
+		catch (IllegalArgumentException e) {
+			System.out.println(e.getMessage() + "!");
+			System.out.println("Usage: --matches n --threads n --seed n --max-ticks n --ai MULTI_GOAL,ASTAR --heuristic MANHATTAN --enemies 3,5");
+			System.exit(1);
+			return;
+		}
+		if (playerAIs.isEmpty()) {
+			playerAIs.add(PLAYER_AI);
+		}
+		if (heuristics.isEmpty()) {
+			heuristics.add(AI_HEURISTIC);
+		}
+		if (enemies.isEmpty()) {
+			enemies.add(ENEMIES);
+		}
+
+		List<GameSettings> settingsList = new ArrayList<>();
+		for (PlayerAIType playerAI : playerAIs) {
+			for (AIHeuristic heuristic : heuristics) {
+				for (int enemy : enemies) {
+					GameSettings settings = new GameSettings(playerAI, heuristic, enemy);
+					if (playerAI == PlayerAIType.HUMAN) {
+						System.out.println("The batch runner needs an AI player!");
+						System.exit(1);
+					}
+					if (enemy < 0 || settings.getValidCells() < 10) {
+						System.out.println("Not enough valid cells for " + enemy + " enemies!");
+						System.exit(1);
+					}
+					settingsList.add(settings);
+				}
+			}
+		}
+
+		JsonCell[][] jsonCells = new Json().importScene();
+		if (jsonCells == null) {
+			System.out.println("Could not load the scene!");
+			System.exit(1);
+		}
+
+		new BatchRunner(jsonCells, settingsList, matches, threads, seed, maxTicks).run();
+		System.exit(0);
+	}
+
+	/**
+	 * Play all the matches on a work stealing pool and print the results of each setting
+	 */
+	public void run() {
+		System.out.println("Seed: " + seed + " Matches per setting: " + matches + " Threads: " + threads);
+		long start = System.nanoTime();
+
+		// The seeds are taken in order before anything is played so that the same seed always gives the same matches
+		SplittableRandom seeds = new SplittableRandom(seed);
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		List<List<ForkJoinTask<MatchResult>>> tasks = new ArrayList<>();
+		for (GameSettings settings : settingsList) {
+			List<ForkJoinTask<MatchResult>> settingsTasks = new ArrayList<>();
+			for (int i = 0; i < matches; i++) {
+				long matchSeed = seeds.nextLong();
+				settingsTasks.add(pool.submit(() -> playMatch(settings, matchSeed)));
+			}
+			tasks.add(settingsTasks);
+		}
+
+		System.out.println(String.format("%-12s %-10s %7s %7s %8s %10s %7s %7s %7s %8s %6s", "AI", "Heuristic", "Enemies", "Matches", "Win rate", "Mean ticks", "p50", "p90", "p99", "Timeouts", "Errors"));
+		for (int i = 0; i < settingsList.size(); i++) {
+			printResults(settingsList.get(i), tasks.get(i));
+		}
+		pool.shutdown();
+
+		double seconds = (System.nanoTime() - start) / 1000000000.0;
+		int total = matches * settingsList.size();
+		System.out.println(String.format("%d matches in %.1f seconds, %.1f matches per second", total, seconds, total / seconds));
+	}
+
+	/**
+	 * Play a match until it ends or the max ticks pass
+	 *
+	 * @param settings  The settings of the match
+	 * @param matchSeed The seed of the match
+	 * @return Returns the result of the match
+	 */
+	private MatchResult playMatch(GameSettings settings, long matchSeed) {
+		try {
+			Game game = new Game(null, new SceneLayout(jsonCells, settings, new GameRandom(matchSeed)), 0, 0);
+			game.play(maxTicks);
+			return new MatchResult(matchSeed, game.isWon(), game.getGameStatus(), false, game.getTicks());
+		}
+		catch (RuntimeException e) {
+			logger.warning("Match " + matchSeed + " failed: " + e);
+			return new MatchResult(matchSeed, false, false, true, 0);
+		}
+	}
+
+	/**
+	 * Wait for the matches of a setting and print their results
+	 *
+	 * @param settings The settings of the matches
+	 * @param tasks    The matches
+	 */
+	private void printResults(GameSettings settings, List<ForkJoinTask<MatchResult>> tasks) {
+		long[] ticks = new long[tasks.size()];
+		int played = 0;
+		int wins = 0;
+		int timeouts = 0;
+		List<Long> errors = new ArrayList<>();
+		for (ForkJoinTask<MatchResult> task : tasks) {
+			MatchResult result = task.join();
+			if (result.error) {
+				errors.add(result.seed);
+				continue;
+			}
+			if (result.won) {
+				wins++;
+			}
+			if (result.timedOut) {
+				timeouts++;
+			}
+			ticks[played++] = result.ticks;
+		}
+		ticks = Arrays.copyOf(ticks, played);
+		Arrays.sort(ticks);
+
+		double mean = 0;
+		for (long tick : ticks) {
+			mean = mean + tick;
+		}
+		if (played > 0) {
+			mean = mean / played;
+		}
+		double winRate = played > 0 ? (double) wins * 100 / played : 0;
+		System.out.println(String.format("%-12s %-10s %7d %7d %7.1f%% %10.1f %7d %7d %7d %8d %6d", settings.getPlayerAI(), settings.getAIHeuristic(), settings.getEnemies(), played, winRate, mean, percentile(ticks, 50), percentile(ticks, 90), percentile(ticks, 99), timeouts, errors.size()));
+		if (!errors.isEmpty()) {
+			System.out.println("Failed match seeds: " + errors);
+		}
+	}
+
+	/**
+	 * Get a percentile of sorted values using the nearest rank
+	 *
+	 * @param sorted     The sorted values
+	 * @param percentile The percentile between 0 and 100
+	 * @return Returns the value, or 0 if there are no values
+	 */
+	private static long percentile(long[] sorted, int percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+		return sorted[Math.max(0, rank - 1)];
+	}
+
+	/**
+	 * The result of a match
+	 */
+	private static class MatchResult {
+		/**
+		 * The seed of the match
+		 */
+		private final long seed;
+		/**
+		 * Whether or not the player won
+		 */
+		private final boolean won;
+		/**
+		 * Whether or not the match was stopped before it ended
+		 */
+		private final boolean timedOut;
+		/**
+		 * Whether or not the match failed with an exception
+		 */
+		private final boolean error;
+		/**
+		 * The number of ticks the match lasted
+		 */
+		private final long ticks;
+
+		/**
+		 * Initialize the result
+		 *
+		 * @param seed     The seed of the match
+		 * @param won      Whether or not the player won
+		 * @param timedOut Whether or not the match was stopped before it ended
+		 * @param error    Whether or not the match failed with an exception
+		 * @param ticks    The number of ticks the match lasted
+		 */
+		private MatchResult(long seed, boolean won, boolean timedOut, boolean error, long ticks) {
+			this.seed = seed;
+			this.won = won;
+			this.timedOut = timedOut;
+			this.error = error;
+			this.ticks = ticks;
+		}
+	}
+}
\ No newline at end of file
@@ -15,16 +15,13 @@
 
 package cl.cromer.azaraka;
 
-import cl.cromer.azaraka.ai.AI;
-import cl.cromer.azaraka.ai.AIException;
-import cl.cromer.azaraka.ai.State;
 import cl.cromer.azaraka.object.Chest;
 import cl.cromer.azaraka.object.Enemy;
 import cl.cromer.azaraka.object.Gem;
 import cl.cromer.azaraka.object.Key;
 import cl.cromer.azaraka.object.Object;
 import cl.cromer.azaraka.object.Player;
-import cl.cromer.azaraka.object.Portal;
+import cl.cromer.azaraka.replay.Replay;
 import cl.cromer.azaraka.sound.Sound;
 import cl.cromer.azaraka.sound.SoundException;
 import cl.cromer.azaraka.sprite.Animation;
@@ -34,45 +31,26 @@ import javax.sound.sampled.Clip;
 import java.awt.Color;
 import java.awt.FontMetrics;
 import java.awt.Graphics;
-import java.awt.Image;
+import java.awt.GraphicsConfiguration;
 import java.awt.Rectangle;
+import java.awt.Toolkit;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.awt.image.BufferStrategy;
+import java.awt.image.VolatileImage;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.logging.Logger;
 
 /**
  * This class extends the canvas to make drawing and listening easier
  */
-public class Canvas extends java.awt.Canvas implements Constants {
+public class Canvas extends java.awt.Canvas implements GameView, Constants {
 	/**
 	 * The main window
 	 */
 	private final Azaraka azaraka;
-	/**
-	 * The current volume
-	 */
-	private final float volume = (float) VOLUME / 100;
-	/**
-	 * The threads for the objects
-	 */
-	private final Map<Object, Thread> threads = new HashMap<>();
-	/**
-	 * The enemies
-	 */
-	private final List<Enemy> enemies = new ArrayList<>();
-	/**
-	 * The keys
-	 */
-	private final List<Key> keys = new ArrayList<>();
-	/**
-	 * The chests
-	 */
-	private final List<Chest> chests = new ArrayList<>();
 	/**
 	 * The logger
 	 */
@@ -82,41 +60,25 @@ public class Canvas extends java.awt.Canvas implements Constants {
 	 */
 	private final Animation gameOverAnimation;
 	/**
-	 * The left margin of the game
-	 */
-	private final int leftMargin;
-	/**
-	 * The top margin of the game
+	 * The game being drawn
 	 */
-	private final int topMargin;
+	private final Game game;
 	/**
-	 * The threads that control AI
+	 * The loop that draws the frames
 	 */
-	private final Map<AI, Thread> aiThreads = new HashMap<>();
+	private final RenderLoop renderLoop;
 	/**
 	 * The graphics buffer
 	 */
 	private Graphics graphicBuffer;
 	/**
-	 * The image buffer
+	 * The image buffer, the frame is put together here and then copied to the buffer strategy
 	 */
-	private Image imageBuffer;
-	/**
-	 * The player
-	 */
-	private Player player;
-	/**
-	 * The magic portal
-	 */
-	private Portal portal;
+	private VolatileImage imageBuffer;
 	/**
 	 * The hearts animation
 	 */
 	private Animation heartAnimation;
-	/**
-	 * The game scene
-	 */
-	private Scene scene;
 	/**
 	 * The sound played when a key is picked up
 	 */
@@ -145,10 +107,6 @@ public class Canvas extends java.awt.Canvas implements Constants {
 	 * Has the game started
 	 */
 	private boolean gameStarted = false;
-	/**
-	 * Game over
-	 */
-	private boolean gameOver = false;
 	/**
 	 * The sound of the door opening or closing
 	 */
@@ -162,9 +120,21 @@ public class Canvas extends java.awt.Canvas implements Constants {
 	 */
 	private Sound backgroundMusic;
 	/**
-	 * Has the game been won
+	 * Whether or not everything has to be drawn on the next frame
+	 */
+	private volatile boolean fullRedraw = true;
+	/**
+	 * Whether or not a frame was requested since the last frame was drawn
 	 */
-	private boolean won = false;
+	private volatile boolean frameRequested = true;
+	/**
+	 * The health that was last drawn in the HUD
+	 */
+	private int drawnHealth = -1;
+	/**
+	 * The keys and gems that were last drawn in the HUD
+	 */
+	private List<Object> hudObjects = new ArrayList<>();
 	/**
 	 * The key listener for the player
 	 */
@@ -182,20 +152,23 @@ public class Canvas extends java.awt.Canvas implements Constants {
 		this.azaraka = azaraka;
 
 		setSize(width, height);
-		leftMargin = (width - CELL_PIXELS * HORIZONTAL_CELLS) / 2;
-		topMargin = (height - CELL_PIXELS * VERTICAL_CELLS) / 2;
+		// The frames are drawn by the render loop, not by the window system
+		setIgnoreRepaint(true);
+		int leftMargin = (width - CELL_PIXELS * HORIZONTAL_CELLS) / 2;
+		int topMargin = (height - CELL_PIXELS * VERTICAL_CELLS) / 2;
 
 		// Load the sounds
+		AssetPreloader assetPreloader = azaraka.getAssetPreloader();
 		try {
-			backgroundMusic = new Sound("/snd/GameLoop.wav");
-			gameOverMusic = new Sound("/snd/GameOver.wav");
-			successSound = new Sound("/snd/Success.wav");
-			getKeySound = new Sound("/snd/GetKey.wav");
-			openChestSound = new Sound("/snd/OpenChest.wav");
-			portalSound = new Sound("/snd/Portal.wav");
-			enemyAttackSound = new Sound("/snd/EnemyAttack.wav");
-			doorSound = new Sound("/snd/Door.wav");
-			getGemSound = new Sound("/snd/GetGem.wav");
+			backgroundMusic = assetPreloader.getSound("/snd/GameLoop.wav");
+			gameOverMusic = assetPreloader.getSound("/snd/GameOver.wav");
+			successSound = assetPreloader.getSound("/snd/Success.wav");
+			getKeySound = assetPreloader.getSound("/snd/GetKey.wav");
+			openChestSound = assetPreloader.getSound("/snd/OpenChest.wav");
+			portalSound = assetPreloader.getSound("/snd/Portal.wav");
+			enemyAttackSound = assetPreloader.getSound("/snd/EnemyAttack.wav");
+			doorSound = assetPreloader.getSound("/snd/Door.wav");
+			getGemSound = assetPreloader.getSound("/snd/GetGem.wav");
 		}
 		catch (SoundException e) {
 			logger.warning(e.getMessage());
@@ -205,207 +178,192 @@ public class Canvas extends java.awt.Canvas implements Constants {
 		gameOverAnimation = new Animation();
 		gameOverAnimation.addImage(Animation.Direction.NONE, "/img/gameover/gameover.png");
 
-		scene = new Scene(this);
-
-		List<Object> objectList = scene.generateRandomObjects();
-		while (objectList == null) {
-			scene = new Scene(this);
-			objectList = scene.generateRandomObjects();
+		Replay replay = azaraka.getReplay();
+		if (replay != null) {
+			game = new Game(this, replay.getLayout(), leftMargin, topMargin);
+			game.setReplay(replay);
+		}
+		else {
+			game = new Game(this, azaraka.getScenePool().take(), leftMargin, topMargin);
+			if (azaraka.isRecording()) {
+				game.startRecording();
+			}
 		}
 
-		scene.setDoorSound(doorSound);
+		game.getScene().setDoorSound(doorSound);
 		setBackground(Color.black);
 
-		Enemy.Direction enemyDirection = Enemy.Direction.DOWN;
-
-		// Create the gems and later place them in 2 of the chests
-		ArrayList<Gem> gems = new ArrayList<>();
-		Gem lifeGem = new Gem(scene, new Cell(0, 0, 0, 0));
-		lifeGem.setSound(getGemSound);
-		lifeGem.setType(Gem.Type.LIFE);
-		Gem deathGem = new Gem(scene, new Cell(0, 0, 0, 0));
-		deathGem.setSound(getGemSound);
-		deathGem.setType(Gem.Type.DEATH);
-		gems.add(lifeGem);
-		gems.add(deathGem);
-
-		for (Object object : objectList) {
-			if (object instanceof Player) {
-				object.getCell().setObject(object);
-				player = (Player) object;
-				threads.put(object, new Thread(object));
-			}
-			else if (object instanceof Enemy) {
-				object.getCell().setObject(object);
-				((Enemy) object).setSound(enemyAttackSound);
-				enemies.add((Enemy) object);
-				if (!ENEMY_AI) {
-					if (enemyDirection == Enemy.Direction.UP) {
-						enemyDirection = Enemy.Direction.DOWN;
-					}
-					else if (enemyDirection == Enemy.Direction.DOWN) {
-						enemyDirection = Enemy.Direction.LEFT;
-					}
-					else if (enemyDirection == Enemy.Direction.LEFT) {
-						enemyDirection = Enemy.Direction.RIGHT;
-					}
-					else {
-						enemyDirection = Enemy.Direction.UP;
-					}
-					((Enemy) object).setDirection(enemyDirection);
-					threads.put(object, new Thread(object));
-				}
-			}
-			else if (object instanceof Chest) {
-				object.getCell().setObject(object);
-				((Chest) object).setSound(openChestSound);
-				if (gems.size() > 0) {
-					Gem gem = gems.get(0);
-					// Place the gem in the cell above the chest, but don't add it to object2 until we are ready to draw it
-					gem.setCell(scene.getCells().get(object.getCell().getX()).get(object.getCell().getY() - 1));
-					threads.put(gem, new Thread(gem));
-					((Chest) object).setGem(gem);
-					gems.remove(gem);
-				}
-				chests.add((Chest) object);
-				threads.put(object, new Thread(object));
-			}
-			else if (object instanceof Key) {
-				object.getCell().setObjectOnBottom(object);
-				((Key) object).setSound(getKeySound);
-				keys.add((Key) object);
-				threads.put(object, new Thread(object));
-			}
-			else if (object instanceof Portal) {
-				object.getCell().setObjectOnBottom(object);
-				portal = (Portal) object;
-				portal.setSound(portalSound);
-				threads.put(object, new Thread(object));
+		for (Enemy enemy : game.getEnemies()) {
+			enemy.setSound(enemyAttackSound);
+		}
+		for (Chest chest : game.getChests()) {
+			chest.setSound(openChestSound);
+			if (chest.getGem() != null) {
+				chest.getGem().setSound(getGemSound);
 			}
 		}
-
-		for (Map.Entry<Object, Thread> entry : threads.entrySet()) {
-			Thread thread = entry.getValue();
-			thread.start();
+		for (Key key : game.getKeys()) {
+			key.setSound(getKeySound);
 		}
+		game.getPortal().setSound(portalSound);
 
-		if (PLAYER_AI != PlayerAIType.HUMAN) {
-			setupPlayerAI();
-		}
-		else {
+		game.setTimeScale(azaraka.getTimeScale());
+		game.start();
+
+		if (PLAYER_AI == PlayerAIType.HUMAN && replay == null) {
 			playerKeyListener = getPlayerKeyListener();
 			addKeyListener(playerKeyListener);
 		}
 
-		if (ENEMY_AI) {
-			setupEnemyAI();
-		}
+		renderLoop = new RenderLoop(this);
+		renderLoop.start();
 	}
 
 	/**
-	 * Setup the player AI
+	 * Stop drawing when the canvas is removed from the window
 	 */
-	private void setupPlayerAI() {
-		try {
-			player.getAi().addDestination(new State(2, 0, State.Type.EXIT, null, 4));
-
-			// Shuffle the chests so that the AI doesn't open the correct chests on the first go
-			//Collections.shuffle(chests, new Random(23));
-			for (Chest chest : chests) {
-				player.getAi().addDestination(new State(chest.getCell().getX(), chest.getCell().getY() + 1, State.Type.CHEST, null, 2));
-			}
-
-			for (Key key : keys) {
-				player.getAi().addDestination(new State(key.getCell().getX(), key.getCell().getY(), State.Type.KEY, null, 1));
-			}
-		}
-		catch (AIException e) {
-			logger.warning(e.getMessage());
-		}
+	@Override
+	public void removeNotify() {
+		renderLoop.stop();
+		super.removeNotify();
+	}
 
-		Thread thread = new Thread(player.getAi());
-		thread.start();
-		aiThreads.put(player.getAi(), thread);
+	/**
+	 * Ask for the game to be drawn again on the next frame
+	 */
+	@Override
+	public void requestFrame() {
+		frameRequested = true;
 	}
 
 	/**
-	 * Setup the enemy AI
+	 * Check if a frame has to be drawn
+	 *
+	 * @return Returns true if a frame was requested since the last one was drawn
 	 */
-	private void setupEnemyAI() {
-		for (Enemy enemy : enemies) {
-			Thread thread = new Thread(enemy.getAi());
-			thread.start();
-			aiThreads.put(enemy.getAi(), thread);
-		}
+	public boolean isFrameRequested() {
+		return frameRequested;
 	}
 
 	/**
-	 * Override the paint method of Canvas to paint all the scene components
+	 * Override the paint method of Canvas, the window system only asks for the next frame to be drawn completely
 	 *
 	 * @param g The graphics object to paint
 	 */
 	@Override
 	public void paint(Graphics g) {
-		update(g);
+		// Everything has to be drawn, for example when the window is shown or uncovered
+		fullRedraw = true;
+		requestFrame();
 	}
 
 	/**
-	 * Override the update method of Canvas to update using a double buffer
+	 * Override the update method of Canvas, the window system only asks for the next frame to be drawn completely
 	 *
 	 * @param g The graphics object to paint
 	 */
 	@Override
 	public void update(Graphics g) {
-		if (graphicBuffer == null) {
-			imageBuffer = createImage(this.getWidth(), this.getHeight());
-			graphicBuffer = imageBuffer.getGraphics();
+		paint(g);
+	}
+
+	/**
+	 * Draw a frame, this is called by the render loop, while the game is being played only the cells and the HUD that
+	 * changed are drawn in the image buffer and nothing is shown if nothing changed
+	 */
+	public void render() {
+		if (!isDisplayable()) {
+			return;
 		}
+		frameRequested = false;
 
-		graphicBuffer.setColor(getBackground());
-		graphicBuffer.fillRect(0, 0, this.getWidth(), this.getHeight());
+		BufferStrategy bufferStrategy = getBufferStrategy();
+		if (bufferStrategy == null) {
+			createBufferStrategy(2);
+			bufferStrategy = getBufferStrategy();
+		}
 
-		int xPixels = leftMargin;
-		for (Key key : keys) {
-			if (key.getState() == Key.State.HELD) {
-				key.drawAnimation(graphicBuffer, xPixels, 8);
-				xPixels = xPixels + 3 + (key.getAnimationWidth());
+		GraphicsConfiguration graphicsConfiguration = getGraphicsConfiguration();
+		int status = VolatileImage.IMAGE_INCOMPATIBLE;
+		if (imageBuffer != null) {
+			status = imageBuffer.validate(graphicsConfiguration);
+		}
+		if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+			imageBuffer = createVolatileImage(getWidth(), getHeight());
+			fullRedraw = true;
+		}
+		else if (status == VolatileImage.IMAGE_RESTORED) {
+			// The contents of the image buffer were lost
+			fullRedraw = true;
+		}
+
+		graphicBuffer = imageBuffer.createGraphics();
+		boolean changed;
+		if (fullRedraw || !game.getGameStatus()) {
+			fullRedraw = false;
+			drawAll();
+			changed = true;
+		}
+		else {
+			changed = false;
+			if (isHudChanged()) {
+				graphicBuffer.setColor(getBackground());
+				graphicBuffer.fillRect(0, 0, getWidth(), game.getTopMargin());
+				drawHud();
+				changed = true;
+			}
+			if (game.getScene().updateChanged(graphicBuffer)) {
+				changed = true;
 			}
 		}
+		graphicBuffer.dispose();
 
-		List<Gem> gems = player.getInventoryGems(false);
-		for (Gem gem : gems) {
-			gem.drawAnimation(graphicBuffer, xPixels, 8);
-			xPixels = xPixels + 3 + (gem.getAnimationWidth());
+		if (imageBuffer.contentsLost()) {
+			// The image buffer was lost while drawing, so draw all of it again on the next frame
+			fullRedraw = true;
+			requestFrame();
+			return;
 		}
 
-		if (player != null) {
-			int health = player.getHealth();
-			int hearts = Player.MAX_HEALTH / 4;
-			if (heartAnimation == null) {
-				heartAnimation = new Animation();
-				for (int i = 0; i < 5; i++) {
-					heartAnimation.addImage(Animation.Direction.NONE, "/img/heart/heart" + i + ".png");
+		if (changed) {
+			do {
+				do {
+					Graphics graphics = bufferStrategy.getDrawGraphics();
+					graphics.drawImage(imageBuffer, 0, 0, null);
+					graphics.dispose();
 				}
+				while (bufferStrategy.contentsRestored());
+				bufferStrategy.show();
 			}
-			for (int i = 0; i < hearts; i++) {
-				try {
-					heartAnimation.setCurrentFrame(Math.min(health, 4));
-					int x = (HORIZONTAL_CELLS * CELL_PIXELS) + leftMargin - (heartAnimation.getFrame().getWidth() * hearts) + (heartAnimation.getFrame().getWidth() * i);
-					graphicBuffer.drawImage(heartAnimation.getFrame(), x, 8, null);
-				}
-				catch (AnimationException e) {
-					logger.warning(e.getMessage());
-				}
-				if (health > 0) {
-					health = health - 4;
-					if (health < 0) {
-						health = 0;
-					}
+			while (bufferStrategy.contentsLost());
+			Toolkit.getDefaultToolkit().sync();
+		}
+
+		if (!gameStarted) {
+			gameStarted = true;
+			try {
+				if (!backgroundMusic.isPlaying()) {
+					backgroundMusic.setVolume(game.getVolume());
+					backgroundMusic.play();
+					backgroundMusic.setLoops(Clip.LOOP_CONTINUOUSLY);
 				}
 			}
+			catch (SoundException e) {
+				logger.warning(e.getMessage());
+			}
 		}
+	}
+
+	/**
+	 * Draw everything on the buffer, the HUD, the scene and the game over or winning screens
+	 */
+	private void drawAll() {
+		graphicBuffer.setColor(getBackground());
+		graphicBuffer.fillRect(0, 0, this.getWidth(), this.getHeight());
 
-		if (gameOver) {
+		drawHud();
+
+		if (game.isGameOver()) {
 			// Place the game over image on the screen
 			graphicBuffer.setColor(Color.black);
 			graphicBuffer.drawRect(0, 0, getWidth(), getHeight());
@@ -425,9 +383,9 @@ public class Canvas extends java.awt.Canvas implements Constants {
 			}
 		}
 		else {
-			scene.paintComponent(graphicBuffer);
+			game.getScene().update(graphicBuffer);
 
-			if (won) {
+			if (game.isWon()) {
 				int alpha = (255 * 75) / 100; // 75% transparent
 				Color transparentColor = new Color(0, 0, 0, alpha);
 				graphicBuffer.setColor(transparentColor);
@@ -438,28 +396,96 @@ public class Canvas extends java.awt.Canvas implements Constants {
 				String message = "Tomak ha sido derrotado y Azaraka ha sido liberado!";
 				graphicBuffer.setFont(FONT);
 				Rectangle rectangle = new Rectangle(0, 0, getWidth(), getHeight());
-				FontMetrics metrics = g.getFontMetrics(FONT);
+				FontMetrics metrics = graphicBuffer.getFontMetrics(FONT);
 				int x = rectangle.x + (rectangle.width - metrics.stringWidth(message)) / 2;
 				int y = rectangle.y + ((rectangle.height - metrics.getHeight()) / 2) + metrics.getAscent();
 				graphicBuffer.drawString(message, x, y);
 			}
 		}
+	}
 
-		if (!gameStarted) {
-			gameStarted = true;
-			try {
-				if (!backgroundMusic.isPlaying()) {
-					backgroundMusic.setVolume(volume);
-					backgroundMusic.play();
-					backgroundMusic.setLoops(Clip.LOOP_CONTINUOUSLY);
+	/**
+	 * Draw the keys and gems the player is carrying and the player's health
+	 */
+	private void drawHud() {
+		Player player = game.getPlayer();
+		int xPixels = game.getLeftMargin();
+		hudObjects = getHudObjects();
+		for (Key key : game.getKeys()) {
+			if (key.getState() == Key.State.HELD) {
+				key.drawAnimation(graphicBuffer, xPixels, 8);
+				xPixels = xPixels + 3 + (key.getAnimationWidth());
+			}
+		}
+
+		List<Gem> gems = player.getInventoryGems(false);
+		for (Gem gem : gems) {
+			gem.drawAnimation(graphicBuffer, xPixels, 8);
+			xPixels = xPixels + 3 + (gem.getAnimationWidth());
+		}
+
+		if (player != null) {
+			int health = player.getHealth();
+			drawnHealth = health;
+			int hearts = Player.MAX_HEALTH / 4;
+			if (heartAnimation == null) {
+				heartAnimation = new Animation();
+				heartAnimation.addImages(Animation.Direction.NONE, "heart");
+			}
+			for (int i = 0; i < hearts; i++) {
+				try {
+					heartAnimation.setCurrentFrame(Math.min(health, 4));
+					int x = (HORIZONTAL_CELLS * CELL_PIXELS) + game.getLeftMargin() - (heartAnimation.getFrame().getWidth() * hearts) + (heartAnimation.getFrame().getWidth() * i);
+					graphicBuffer.drawImage(heartAnimation.getFrame(), x, 8, null);
+				}
+				catch (AnimationException e) {
+					logger.warning(e.getMessage());
+				}
+				if (health > 0) {
+					health = health - 4;
+					if (health < 0) {
+						health = 0;
+					}
 				}
 			}
-			catch (SoundException e) {
-				logger.warning(e.getMessage());
+		}
+	}
+
+	/**
+	 * Get the keys and gems that are shown in the HUD
+	 *
+	 * @return Returns the objects in the order they are drawn
+	 */
+	private List<Object> getHudObjects() {
+		List<Object> objects = new ArrayList<>();
+		for (Key key : game.getKeys()) {
+			if (key.getState() == Key.State.HELD) {
+				objects.add(key);
 			}
 		}
+		objects.addAll(game.getPlayer().getInventoryGems(false));
+		return objects;
+	}
 
-		g.drawImage(imageBuffer, 0, 0, null);
+	/**
+	 * Check if the HUD has to be drawn again
+	 *
+	 * @return Returns true if the health, the objects carried or their animations changed
+	 */
+	private boolean isHudChanged() {
+		if (game.getPlayer().getHealth() != drawnHealth) {
+			return true;
+		}
+		List<Object> objects = getHudObjects();
+		if (!objects.equals(hudObjects)) {
+			return true;
+		}
+		for (Object object : objects) {
+			if (object.hasFrameChanged()) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	/**
@@ -476,37 +502,12 @@ public class Canvas extends java.awt.Canvas implements Constants {
 		}
 	}
 
-	/**
-	 * Stop all active threads
-	 */
-	private void stopThreads() {
-		// Stop normal threads
-		for (Map.Entry<Object, Thread> entry : threads.entrySet()) {
-			Thread thread = entry.getValue();
-			if (thread.isAlive()) {
-				Object object = entry.getKey();
-				object.setActive(false);
-				thread.interrupt();
-			}
-		}
-
-		// Stop AI threads
-		for (Map.Entry<AI, Thread> entry : aiThreads.entrySet()) {
-			Thread thread = entry.getValue();
-			if (thread.isAlive()) {
-				AI ai = entry.getKey();
-				ai.setActive(false);
-				thread.interrupt();
-			}
-		}
-	}
-
 	/**
 	 * The player died, game over
 	 */
+	@Override
 	public void gameOver() {
-		gameOver = true;
-		stopThreads();
+		requestFrame();
 		stopBackgroundMusic();
 		removeKeyListener(playerKeyListener);
 		addKeyListener(new KeyAdapter() {
@@ -514,15 +515,13 @@ public class Canvas extends java.awt.Canvas implements Constants {
 			public void keyPressed(KeyEvent event) {
 				super.keyPressed(event);
 				if (event.getKeyCode() == KeyEvent.VK_ENTER) {
-					player.deleteInstance();
-					portal.deleteInstance();
 					azaraka.restart();
 				}
 			}
 		});
 
 		try {
-			gameOverMusic.setVolume(volume);
+			gameOverMusic.setVolume(game.getVolume());
 			gameOverMusic.play();
 		}
 		catch (SoundException e) {
@@ -533,9 +532,9 @@ public class Canvas extends java.awt.Canvas implements Constants {
 	/**
 	 * Called when the game is won
 	 */
+	@Override
 	public void win() {
-		won = true;
-		stopThreads();
+		requestFrame();
 		stopBackgroundMusic();
 		removeKeyListener(playerKeyListener);
 		addKeyListener(new KeyAdapter() {
@@ -549,7 +548,7 @@ public class Canvas extends java.awt.Canvas implements Constants {
 		});
 
 		try {
-			successSound.setVolume(volume);
+			successSound.setVolume(game.getVolume());
 			successSound.play();
 		}
 		catch (SoundException e) {
@@ -557,78 +556,6 @@ public class Canvas extends java.awt.Canvas implements Constants {
 		}
 	}
 
-	/**
-	 * Get the current volume
-	 *
-	 * @return Returns the current volume
-	 */
-	public float getVolume() {
-		return volume;
-	}
-
-	/**
-	 * Get the player
-	 *
-	 * @return Returns the player object
-	 */
-	public Player getPlayer() {
-		return player;
-	}
-
-	/**
-	 * Get the portal
-	 *
-	 * @return Returns the portal object
-	 */
-	public Portal getPortal() {
-		return portal;
-	}
-
-	/**
-	 * Get a list of the keys that exist
-	 *
-	 * @return Returns all the keys that are in the game
-	 */
-	public List<Key> getKeys() {
-		return keys;
-	}
-
-	/**
-	 * Get a list of the chests that exist
-	 *
-	 * @return Returns all the chests that are in the game
-	 */
-	public List<Chest> getChests() {
-		return chests;
-	}
-
-	/**
-	 * Get the left margin being used
-	 *
-	 * @return Returns the left margin
-	 */
-	public int getLeftMargin() {
-		return leftMargin;
-	}
-
-	/**
-	 * Get the top margin being used
-	 *
-	 * @return Returns the top margin
-	 */
-	public int getTopMargin() {
-		return topMargin;
-	}
-
-	/**
-	 * Check if the game has ended or not
-	 *
-	 * @return Returns true if the game is still playing or false if game is over
-	 */
-	public boolean getGameStatus() {
-		return (!won && !gameOver);
-	}
-
 	/**
 	 * Get a game over key listener to use
 	 *
@@ -639,9 +566,8 @@ public class Canvas extends java.awt.Canvas implements Constants {
 			@Override
 			public void keyPressed(KeyEvent event) {
 				super.keyPressed(event);
-				if (!gameOver) {
-					player.keyPressed(event);
-					repaint();
+				if (game.getGameStatus()) {
+					game.keyPressed(event.getKeyCode());
 				}
 			}
 		};
@@ -17,17 +17,22 @@ package cl.cromer.azaraka;
 
 import cl.cromer.azaraka.object.Object;
 
-import javax.swing.JComponent;
-import java.awt.Graphics;
-import java.awt.image.BufferedImage;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 /**
- * This class is a cell that will contain a game element such as a player, enemy, prize, etc
+ * This class is a cell that will contain a game element such as a player, enemy, prize, etc, it only holds the state
+ * of the cell, the scene draws it
  */
-public class Cell extends JComponent implements Constants {
+public class Cell implements Constants {
+	/**
+	 * The grid the cell is in, null if the cell is not in a grid
+	 */
+	private final Grid grid;
+	/**
+	 * The index of the cell in the grid
+	 */
+	private final int index;
 	/**
 	 * The x graphical coordinate of the cell
 	 */
@@ -45,9 +50,10 @@ public class Cell extends JComponent implements Constants {
 	 */
 	private final int y;
 	/**
-	 * A map containing the textures used in the cell, LinkedHashMap is used to maintain the order of images
+	 * The numbers of the textures used in the cell in the order they are drawn, the array is replaced instead of
+	 * modified so that it can be drawn while the game changes it
 	 */
-	private final Map<Integer, BufferedImage> textures = new LinkedHashMap<>();
+	private volatile int[] textures = new int[0];
 	/**
 	 * The object in the cell
 	 */
@@ -60,9 +66,17 @@ public class Cell extends JComponent implements Constants {
 	 * An object that doesn't collide and is drawn below the other sprites
 	 */
 	private Object objectOnBottom = null;
+	/**
+	 * Whether or not the textures changed since they were last drawn on the background
+	 */
+	private volatile boolean texturesChanged = true;
+	/**
+	 * Whether or not something in the cell changed since it was last drawn
+	 */
+	private volatile boolean changed = true;
 
 	/**
-	 * Initialize the cell with its coordinates
+	 * Initialize a cell that is not in a grid with its coordinates
 	 *
 	 * @param xPixels The x graphical coordinate
 	 * @param yPixels The y graphical coordinate
@@ -70,6 +84,22 @@ public class Cell extends JComponent implements Constants {
 	 * @param y       The y coordinate of the cell
 	 */
 	public Cell(int xPixels, int yPixels, int x, int y) {
+		this(null, -1, xPixels, yPixels, x, y);
+	}
+
+	/**
+	 * Initialize a cell of a grid with its coordinates
+	 *
+	 * @param grid    The grid the cell is in
+	 * @param index   The index of the cell in the grid
+	 * @param xPixels The x graphical coordinate
+	 * @param yPixels The y graphical coordinate
+	 * @param x       The x coordinate of the cell
+	 * @param y       The y coordinate of the cell
+	 */
+	Cell(Grid grid, int index, int xPixels, int yPixels, int x, int y) {
+		this.grid = grid;
+		this.index = index;
 		this.xPixels = xPixels;
 		this.yPixels = yPixels;
 		this.x = x;
@@ -92,6 +122,10 @@ public class Cell extends JComponent implements Constants {
 	 */
 	public void setObject(Object object) {
 		this.object = object;
+		if (grid != null) {
+			grid.setBlocked(index, object != null);
+		}
+		changed = true;
 	}
 
 	/**
@@ -110,6 +144,7 @@ public class Cell extends JComponent implements Constants {
 	 */
 	public void setObjectOnTop(Object object) {
 		this.objectOnTop = object;
+		changed = true;
 	}
 
 	/**
@@ -128,6 +163,7 @@ public class Cell extends JComponent implements Constants {
 	 */
 	public void setObjectOnBottom(Object object) {
 		this.objectOnBottom = object;
+		changed = true;
 	}
 
 	/**
@@ -158,22 +194,69 @@ public class Cell extends JComponent implements Constants {
 	}
 
 	/**
-	 * Add a texture to the texture list
+	 * Get the x graphical coordinate of the cell
 	 *
-	 * @param texture       The new texture
-	 * @param textureNumber The texture's number
+	 * @return Returns the x coordinate in pixels
 	 */
-	public void addTexture(BufferedImage texture, int textureNumber) {
-		textures.put(textureNumber, texture);
+	public int getXPixels() {
+		return xPixels;
 	}
 
 	/**
-	 * Remove the texture from the map
+	 * Get the y graphical coordinate of the cell
 	 *
-	 * @param texture The texture to remove
+	 * @return Returns the y coordinate in pixels
 	 */
-	public void removeTexture(int texture) {
-		textures.remove(texture);
+	public int getYPixels() {
+		return yPixels;
+	}
+
+	/**
+	 * Add a texture on top of the textures of the cell, a texture that is already in the cell keeps its place
+	 *
+	 * @param textureNumber The texture's number in the texture sheet
+	 */
+	public void addTexture(int textureNumber) {
+		int[] textures = this.textures;
+		for (int texture : textures) {
+			if (texture == textureNumber) {
+				return;
+			}
+		}
+		int[] newTextures = Arrays.copyOf(textures, textures.length + 1);
+		newTextures[textures.length] = textureNumber;
+		this.textures = newTextures;
+		texturesChanged = true;
+		changed = true;
+	}
+
+	/**
+	 * Remove a texture from the cell
+	 *
+	 * @param textureNumber The texture's number in the texture sheet
+	 */
+	public void removeTexture(int textureNumber) {
+		int[] textures = this.textures;
+		for (int i = 0; i < textures.length; i++) {
+			if (textures[i] == textureNumber) {
+				int[] newTextures = new int[textures.length - 1];
+				System.arraycopy(textures, 0, newTextures, 0, i);
+				System.arraycopy(textures, i + 1, newTextures, i, textures.length - i - 1);
+				this.textures = newTextures;
+				texturesChanged = true;
+				changed = true;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Get the numbers of the textures in the order they are drawn, the array must not be modified
+	 *
+	 * @return Returns the texture numbers
+	 */
+	public int[] getTextures() {
+		return textures;
 	}
 
 	/**
@@ -183,50 +266,47 @@ public class Cell extends JComponent implements Constants {
 	 */
 	public ArrayList<Integer> getTextureNumbers() {
 		ArrayList<Integer> arrayList = new ArrayList<>();
-		for (Map.Entry<Integer, BufferedImage> entry : textures.entrySet()) {
-			arrayList.add(entry.getKey());
+		for (int texture : textures) {
+			arrayList.add(texture);
 		}
 		return arrayList;
 	}
 
 	/**
-	 * Override the paintComponent method of JComponent to paint the cell based on type
+	 * Check if the cell needs to be drawn again because an object, a texture or the frame of a sprite changed
 	 *
-	 * @param g The graphics object to paint
+	 * @return Returns true if the cell changed since it was last drawn
 	 */
-	@Override
-	public void paintComponent(Graphics g) {
-		update(g);
+	public boolean hasChanged() {
+		Object objectOnBottom = this.objectOnBottom;
+		Object object = this.object;
+		Object objectOnTop = this.objectOnTop;
+		return changed ||
+				(objectOnBottom != null && objectOnBottom.hasFrameChanged()) ||
+				(object != null && object.hasFrameChanged()) ||
+				(objectOnTop != null && objectOnTop.hasFrameChanged());
 	}
 
 	/**
-	 * Override the update method of JComponent to do double buffering
-	 *
-	 * @param g The graphics object to paint
+	 * Mark the sprites of the cell as drawn
 	 */
-	@Override
-	public void update(Graphics g) {
-		// Draw the textures in the cell
-		for (Map.Entry<Integer, BufferedImage> entry : textures.entrySet()) {
-			BufferedImage texture = entry.getValue();
-			if (texture != null) {
-				g.drawImage(texture, xPixels, yPixels, null);
-			}
-		}
-
-		// Draw the bottom sprite
-		if (objectOnBottom != null) {
-			objectOnBottom.drawAnimation(g, xPixels, yPixels);
-		}
+	void clearChanged() {
+		changed = false;
+	}
 
-		// Draw a sprite in the cell if needed
-		if (object != null) {
-			object.drawAnimation(g, xPixels, yPixels);
-		}
+	/**
+	 * Check if the textures need to be drawn on the background again
+	 *
+	 * @return Returns true if a texture was added or removed since the last time they were drawn
+	 */
+	public boolean hasTexturesChanged() {
+		return texturesChanged;
+	}
 
-		// Draw the top sprite
-		if (objectOnTop != null) {
-			objectOnTop.drawAnimation(g, xPixels, yPixels);
-		}
+	/**
+	 * Mark the textures of the cell as drawn on the background
+	 */
+	void clearTexturesChanged() {
+		texturesChanged = false;
 	}
 }
\ No newline at end of file
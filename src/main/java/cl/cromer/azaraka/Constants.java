@@ -20,7 +20,6 @@ import cl.cromer.azaraka.logging.HtmlFormatter;
 import java.awt.Font;
 import java.io.File;
 import java.io.IOException;
-import java.util.Random;
 import java.util.logging.FileHandler;
 import java.util.logging.Formatter;
 import java.util.logging.Level;
@@ -41,11 +40,16 @@ public interface Constants {
 	/**
 	 * Which type of AI to use
 	 */
-	PlayerAIType PLAYER_AI = PlayerAIType.ASTAR;
+	PlayerAIType PLAYER_AI = PlayerAIType.MULTI_GOAL;
 	/**
 	 * Whether or not the enemies should be controlled by AI
 	 */
 	boolean ENEMY_AI = true;
+	/**
+	 * The cost the player AI gives to cells close to an enemy, the first value is for the enemy's cell and each value
+	 * after that is for the next ring of cells around the enemy, add more values to make the danger zone wider
+	 */
+	int[] ENEMY_INFLUENCE = {8, 4, 2};
 	/**
 	 * Make logs
 	 */
@@ -58,6 +62,31 @@ public interface Constants {
 	 * Append to the logs if true or make a new log if false
 	 */
 	boolean APPEND_LOGS = false;
+	/**
+	 * Record every game that is played in the window or headless to the replay directory, --record also turns it on
+	 */
+	boolean RECORD_REPLAYS = false;
+	/**
+	 * The length of a tick of the game loop in milliseconds
+	 */
+	int TICK_LENGTH = 20;
+	/**
+	 * How fast the game is played in the window compared to real time, e.g. 10 plays 10 times faster, 0 plays as fast
+	 * as possible
+	 */
+	double TIME_SCALE = 1;
+	/**
+	 * How fast the game is played without a window compared to real time, 0 plays as fast as possible
+	 */
+	double HEADLESS_TIME_SCALE = 0;
+	/**
+	 * The number of ticks after which a game played without a window is stopped if it hasn't ended
+	 */
+	long MAX_TICKS = 100000;
+	/**
+	 * The number of frames per second to draw at most
+	 */
+	int TARGET_FPS = 60;
 	/**
 	 * The size in pixels of the cells
 	 */
@@ -82,6 +111,14 @@ public interface Constants {
 	 * The amount of obstacles to draw on the screen
 	 */
 	int OBSTACLES = (int) Math.floor((double) (HORIZONTAL_CELLS * VERTICAL_CELLS) * 0.05);
+	/**
+	 * The number of threads used to load the images and sounds
+	 */
+	int ASSET_LOADER_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+	/**
+	 * The number of scene layouts to keep ready in the background for new games
+	 */
+	int SCENE_POOL_SIZE = 2;
 	/**
 	 * The default volume between 0 and 100
 	 */
@@ -94,6 +131,10 @@ public interface Constants {
 	 * Exports the scene to a JSON file if true
 	 */
 	boolean EXPORT_SCENE = false;
+	/**
+	 * Packs the animation frames into the texture atlas in the resources if true
+	 */
+	boolean EXPORT_ATLAS = false;
 	/**
 	 * Use pretty JSON if true
 	 */
@@ -135,18 +176,6 @@ public interface Constants {
 		return logger;
 	}
 
-	/**
-	 * Generate a random number between given min and max
-	 *
-	 * @param min Minimum number in range
-	 * @param max Maximum number in range
-	 * @return Returns a random number
-	 */
-	default int random(int min, int max) {
-		Random random = new Random();
-		return random.nextInt((max - min) + 1) + min;
-	}
-
 	/**
 	 * Initialize the logger and assign a html handler
 	 *
@@ -223,7 +252,15 @@ public interface Constants {
 		/**
 		 * A* Search
 		 */
-		ASTAR
+		ASTAR,
+		/**
+		 * D* Lite Search, the searches are kept and repaired when cells change
+		 */
+		DSTAR_LITE,
+		/**
+		 * Dijkstra to every destination with the order of the destinations planned exactly
+		 */
+		MULTI_GOAL
 	}
 
 	/**
@@ -246,6 +283,10 @@ public interface Constants {
 		 * The canvas log level
 		 */
 		CANVAS(Level.INFO),
+		/**
+		 * The game log level
+		 */
+		GAME(Level.INFO),
 		/**
 		 * The escenario log level
 		 */
@@ -293,7 +334,11 @@ public interface Constants {
 		/**
 		 * The portal log level
 		 */
-		PORTAL(Level.INFO);
+		PORTAL(Level.INFO),
+		/**
+		 * The replay log level
+		 */
+		REPLAY(Level.INFO);
 
 		/**
 		 * The level of log for the enum
@@ -0,0 +1,581 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka;
+
+import cl.cromer.azaraka.ai.AIException;
+import cl.cromer.azaraka.ai.State;
+import cl.cromer.azaraka.object.Chest;
+import cl.cromer.azaraka.object.Enemy;
+import cl.cromer.azaraka.object.Gem;
+import cl.cromer.azaraka.object.Key;
+import cl.cromer.azaraka.object.Object;
+import cl.cromer.azaraka.object.Player;
+import cl.cromer.azaraka.object.Portal;
+import cl.cromer.azaraka.replay.Replay;
+import cl.cromer.azaraka.replay.ReplayEvent;
+import cl.cromer.azaraka.replay.ReplayException;
+import cl.cromer.azaraka.replay.ReplayPlayer;
+import cl.cromer.azaraka.replay.ReplayWriter;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * This class contains the state of a match, it can be played with a view or headless
+ */
+public class Game implements Constants {
+	/**
+	 * The view that draws the game, null if the game is headless
+	 */
+	private final GameView view;
+	/**
+	 * The current volume
+	 */
+	private final float volume = (float) VOLUME / 100;
+	/**
+	 * The loop that updates the objects and the AI
+	 */
+	private final GameLoop loop;
+	/**
+	 * The enemies
+	 */
+	private final List<Enemy> enemies = new ArrayList<>();
+	/**
+	 * The keys
+	 */
+	private final List<Key> keys = new ArrayList<>();
+	/**
+	 * The chests
+	 */
+	private final List<Chest> chests = new ArrayList<>();
+	/**
+	 * The logger
+	 */
+	private final Logger logger;
+	/**
+	 * The left margin of the game
+	 */
+	private final int leftMargin;
+	/**
+	 * The top margin of the game
+	 */
+	private final int topMargin;
+	/**
+	 * The settings of the match
+	 */
+	private final GameSettings settings;
+	/**
+	 * The random numbers of the match
+	 */
+	private final GameRandom gameRandom;
+	/**
+	 * The game scene
+	 */
+	private final Scene scene;
+	/**
+	 * The player
+	 */
+	private Player player;
+	/**
+	 * The magic portal
+	 */
+	private Portal portal;
+	/**
+	 * Game over, this is set by the game loop and read by the view and the threads waiting for the game to end
+	 */
+	private volatile boolean gameOver = false;
+	/**
+	 * Has the game been won, this is set by the game loop and read by the view and the threads waiting for the game to
+	 * end
+	 */
+	private volatile boolean won = false;
+	/**
+	 * The replay the game is being recorded to, null if it is not being recorded
+	 */
+	private ReplayWriter recorder;
+	/**
+	 * The replay player that plays the game instead of the AI, null if a replay is not being played
+	 */
+	private ReplayPlayer replayPlayer;
+
+	/**
+	 * Initialize the game
+	 *
+	 * @param view       The view that draws the game, or null to run headless
+	 * @param layout     A scene layout made in advance, or null to make one when the scene is created
+	 * @param leftMargin The left margin of the scene in pixels
+	 * @param topMargin  The top margin of the scene in pixels
+	 */
+	public Game(GameView view, SceneLayout layout, int leftMargin, int topMargin) {
+		this(view, layout, null, leftMargin, topMargin);
+	}
+
+	/**
+	 * Initialize the game
+	 *
+	 * @param view       The view that draws the game, or null to run headless
+	 * @param layout     A scene layout made in advance, or null to make one when the scene is created
+	 * @param gameRandom The random numbers used to make the scene when there is no layout, or null to use a new seed
+	 * @param leftMargin The left margin of the scene in pixels
+	 * @param topMargin  The top margin of the scene in pixels
+	 */
+	public Game(GameView view, SceneLayout layout, GameRandom gameRandom, int leftMargin, int topMargin) {
+		logger = getLogger(this.getClass(), LogLevel.GAME);
+		this.view = view;
+		this.leftMargin = leftMargin;
+		this.topMargin = topMargin;
+		loop = new GameLoop(this);
+
+		if (layout != null) {
+			settings = layout.getSettings();
+			this.gameRandom = layout.getGameRandom();
+		}
+		else if (gameRandom != null) {
+			settings = new GameSettings();
+			this.gameRandom = gameRandom;
+		}
+		else {
+			settings = new GameSettings();
+			this.gameRandom = new GameRandom();
+		}
+		logger.info("Game seed: " + this.gameRandom.getSeed());
+
+		scene = new Scene(this, layout);
+
+		List<Object> objectList = scene.generateRandomObjects();
+
+		Enemy.Direction enemyDirection = Enemy.Direction.DOWN;
+
+		// Create the gems and later place them in 2 of the chests
+		ArrayList<Gem> gems = new ArrayList<>();
+		Gem lifeGem = new Gem(scene, new Cell(0, 0, 0, 0));
+		lifeGem.setType(Gem.Type.LIFE);
+		Gem deathGem = new Gem(scene, new Cell(0, 0, 0, 0));
+		deathGem.setType(Gem.Type.DEATH);
+		gems.add(lifeGem);
+		gems.add(deathGem);
+
+		for (Object object : objectList) {
+			if (object instanceof Player) {
+				object.getCell().setObject(object);
+				player = (Player) object;
+				loop.add(object);
+			}
+			else if (object instanceof Enemy) {
+				object.getCell().setObject(object);
+				enemies.add((Enemy) object);
+				if (!ENEMY_AI) {
+					if (enemyDirection == Enemy.Direction.UP) {
+						enemyDirection = Enemy.Direction.DOWN;
+					}
+					else if (enemyDirection == Enemy.Direction.DOWN) {
+						enemyDirection = Enemy.Direction.LEFT;
+					}
+					else if (enemyDirection == Enemy.Direction.LEFT) {
+						enemyDirection = Enemy.Direction.RIGHT;
+					}
+					else {
+						enemyDirection = Enemy.Direction.UP;
+					}
+					((Enemy) object).setDirection(enemyDirection);
+					loop.add(object);
+				}
+			}
+			else if (object instanceof Chest) {
+				object.getCell().setObject(object);
+				if (gems.size() > 0) {
+					Gem gem = gems.get(0);
+					// Place the gem in the cell above the chest, but don't add it to object2 until we are ready to draw it
+					gem.setCell(scene.getCell(object.getCell().getX(), object.getCell().getY() - 1));
+					loop.add(gem);
+					((Chest) object).setGem(gem);
+					gems.remove(gem);
+				}
+				chests.add((Chest) object);
+				loop.add(object);
+			}
+			else if (object instanceof Key) {
+				object.getCell().setObjectOnBottom(object);
+				keys.add((Key) object);
+				loop.add(object);
+			}
+			else if (object instanceof Portal) {
+				object.getCell().setObjectOnBottom(object);
+				portal = (Portal) object;
+				loop.add(object);
+			}
+		}
+	}
+
+	/**
+	 * Start the game loop
+	 */
+	public void start() {
+		logger.info("Start game");
+		setupAI();
+		loop.start();
+	}
+
+	/**
+	 * Play the game in the current thread as fast as possible, this is used to play games without a view
+	 *
+	 * @param maxTicks The number of ticks after which the game is stopped if it hasn't ended
+	 */
+	public void play(long maxTicks) {
+		logger.info("Play game");
+		setupAI();
+		loop.runUnpaced(maxTicks);
+		stopRecording();
+	}
+
+	/**
+	 * Play the game in the current thread at the time scale of the loop, this is used to watch games without a view
+	 *
+	 * @param maxTicks The number of ticks after which the game is stopped if it hasn't ended
+	 */
+	public void playPaced(long maxTicks) {
+		logger.info("Play game paced");
+		setupAI();
+		loop.runPaced(maxTicks);
+		stopRecording();
+	}
+
+	/**
+	 * Stop the game without winning or losing, this is used when a replay ends
+	 */
+	public void stop() {
+		logger.info("Stop game");
+		loop.stop();
+		stopRecording();
+	}
+
+	/**
+	 * Start recording the game to a new file in the replay directory, this should be done before the game starts
+	 *
+	 * @return Returns the file the game is recorded to, or null if it can't be recorded
+	 */
+	public File startRecording() {
+		try {
+			File file = ReplayWriter.getReplayFile(gameRandom.getSeed());
+			recorder = new ReplayWriter(file, scene.getLayout());
+			logger.info("Recording replay to " + file);
+			return file;
+		}
+		catch (ReplayException e) {
+			logger.warning(e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Stop recording the game
+	 */
+	private void stopRecording() {
+		if (recorder != null) {
+			recorder.end(loop.getTicks());
+			recorder = null;
+		}
+	}
+
+	/**
+	 * Record something that changed the game in the current tick, does nothing if the game is not being recorded
+	 *
+	 * @param type   The type of event
+	 * @param target The enemy the event is for, 0 if it is not for an enemy
+	 * @param value  The key code or the direction
+	 */
+	public void record(ReplayEvent.Type type, int target, int value) {
+		ReplayWriter recorder = this.recorder;
+		if (recorder != null) {
+			recorder.write(loop.getTicks(), type, target, value);
+		}
+	}
+
+	/**
+	 * Play a replay instead of using the AI, the game has to be made with the layout of the replay
+	 *
+	 * @param replay The replay to play
+	 */
+	public void setReplay(Replay replay) {
+		replayPlayer = new ReplayPlayer(this, replay);
+	}
+
+	/**
+	 * Setup the AI that controls the player and the enemies
+	 */
+	private void setupAI() {
+		if (replayPlayer != null) {
+			// The replay does what the AI did, so the AI is not used
+			replayPlayer.start();
+			loop.add(replayPlayer);
+			return;
+		}
+
+		if (settings.getPlayerAI() != PlayerAIType.HUMAN) {
+			setupPlayerAI();
+		}
+
+		if (ENEMY_AI) {
+			setupEnemyAI();
+		}
+	}
+
+	/**
+	 * Setup the player AI
+	 */
+	private void setupPlayerAI() {
+		try {
+			player.getAi().addDestination(new State(2, 0, State.Type.EXIT, null, 4));
+
+			// Shuffle the chests so that the AI doesn't open the correct chests on the first go
+			//Collections.shuffle(chests, new Random(23));
+			for (Chest chest : chests) {
+				player.getAi().addDestination(new State(chest.getCell().getX(), chest.getCell().getY() + 1, State.Type.CHEST, null, 2));
+			}
+
+			for (Key key : keys) {
+				player.getAi().addDestination(new State(key.getCell().getX(), key.getCell().getY(), State.Type.KEY, null, 1));
+			}
+		}
+		catch (AIException e) {
+			logger.warning(e.getMessage());
+		}
+
+		loop.add(player.getAi());
+	}
+
+	/**
+	 * Setup the enemy AI
+	 */
+	private void setupEnemyAI() {
+		for (Enemy enemy : enemies) {
+			loop.add(enemy.getAi());
+		}
+	}
+
+	/**
+	 * Ask the view to draw the game again, does nothing if the game is headless
+	 */
+	public void repaint() {
+		if (view != null) {
+			view.requestFrame();
+		}
+	}
+
+	/**
+	 * The player died, game over
+	 */
+	public void gameOver() {
+		logger.info("Game over");
+		gameOver = true;
+		loop.stop();
+		stopRecording();
+		stopKeyAnimations();
+		if (view != null) {
+			view.gameOver();
+		}
+	}
+
+	/**
+	 * Called when the game is won
+	 */
+	public void win() {
+		logger.info("Game won");
+		won = true;
+		loop.stop();
+		stopRecording();
+		stopKeyAnimations();
+		if (view != null) {
+			view.win();
+		}
+	}
+
+	/**
+	 * Stop the animation of the keys when the game ends so they rest on the same frame
+	 */
+	private void stopKeyAnimations() {
+		for (Key key : keys) {
+			key.stopAnimation();
+		}
+	}
+
+	/**
+	 * Handle a key pressed by the player, the key is handled in the game loop at the start of the next tick
+	 *
+	 * @param keyCode The key code that was pressed
+	 */
+	public void keyPressed(int keyCode) {
+		loop.invokeLater(() -> {
+			record(ReplayEvent.Type.INPUT, 0, keyCode);
+			player.keyPressed(keyCode);
+		});
+	}
+
+	/**
+	 * Set how fast the game is played compared to real time
+	 *
+	 * @param timeScale The time scale, e.g. 10 plays 10 times faster, 0 plays as fast as possible
+	 */
+	public void setTimeScale(double timeScale) {
+		loop.setTimeScale(timeScale);
+	}
+
+	/**
+	 * Get the number of ticks the game has been played
+	 *
+	 * @return Returns the ticks
+	 */
+	public long getTicks() {
+		return loop.getTicks();
+	}
+
+	/**
+	 * Check if the game has ended or not
+	 *
+	 * @return Returns true if the game is still playing or false if game is over
+	 */
+	public boolean getGameStatus() {
+		return (!won && !gameOver);
+	}
+
+	/**
+	 * Check if the player died
+	 *
+	 * @return Returns true if the game was lost or false otherwise
+	 */
+	public boolean isGameOver() {
+		return gameOver;
+	}
+
+	/**
+	 * Check if the game was won
+	 *
+	 * @return Returns true if the player won the game or false otherwise
+	 */
+	public boolean isWon() {
+		return won;
+	}
+
+	/**
+	 * Check if the game is being run without a view
+	 *
+	 * @return Returns true if the game is headless
+	 */
+	public boolean isHeadless() {
+		return view == null;
+	}
+
+	/**
+	 * Get the current volume
+	 *
+	 * @return Returns the current volume
+	 */
+	public float getVolume() {
+		return volume;
+	}
+
+	/**
+	 * Get the settings of the match
+	 *
+	 * @return Returns the settings
+	 */
+	public GameSettings getSettings() {
+		return settings;
+	}
+
+	/**
+	 * Get the random numbers of the match
+	 *
+	 * @return Returns the random numbers
+	 */
+	public GameRandom getGameRandom() {
+		return gameRandom;
+	}
+
+	/**
+	 * Get the scene
+	 *
+	 * @return Returns the scene of the game
+	 */
+	public Scene getScene() {
+		return scene;
+	}
+
+	/**
+	 * Get the player
+	 *
+	 * @return Returns the player object
+	 */
+	public Player getPlayer() {
+		return player;
+	}
+
+	/**
+	 * Get the portal
+	 *
+	 * @return Returns the portal object
+	 */
+	public Portal getPortal() {
+		return portal;
+	}
+
+	/**
+	 * Get a list of the enemies that exist
+	 *
+	 * @return Returns all the enemies that are in the game
+	 */
+	public List<Enemy> getEnemies() {
+		return enemies;
+	}
+
+	/**
+	 * Get a list of the keys that exist
+	 *
+	 * @return Returns all the keys that are in the game
+	 */
+	public List<Key> getKeys() {
+		return keys;
+	}
+
+	/**
+	 * Get a list of the chests that exist
+	 *
+	 * @return Returns all the chests that are in the game
+	 */
+	public List<Chest> getChests() {
+		return chests;
+	}
+
+	/**
+	 * Get the left margin being used
+	 *
+	 * @return Returns the left margin
+	 */
+	public int getLeftMargin() {
+		return leftMargin;
+	}
+
+	/**
+	 * Get the top margin being used
+	 *
+	 * @return Returns the top margin
+	 */
+	public int getTopMargin() {
+		return topMargin;
+	}
+}
\ No newline at end of file
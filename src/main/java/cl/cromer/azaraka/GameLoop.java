@@ -0,0 +1,242 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Logger;
+
+/**
+ * This class runs the game in fixed ticks on a single thread, everything that changes over time is updated here in the
+ * order it was added
+ */
+public class GameLoop implements Runnable, Constants {
+	/**
+	 * The game being run
+	 */
+	private final Game game;
+	/**
+	 * The logger
+	 */
+	private final Logger logger;
+	/**
+	 * The objects and AI to update, in the order they are updated
+	 */
+	private final List<Updatable> updatables = new ArrayList<>();
+	/**
+	 * Tasks from other threads that should be run at the start of the next tick
+	 */
+	private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+	/**
+	 * The thread the loop runs in
+	 */
+	private Thread thread;
+	/**
+	 * Whether or not the loop is active
+	 */
+	private volatile boolean active = false;
+	/**
+	 * The number of ticks that have passed
+	 */
+	private volatile long ticks = 0;
+	/**
+	 * How fast the ticks are run compared to real time, 0 runs them as fast as possible
+	 */
+	private volatile double timeScale = TIME_SCALE;
+
+	/**
+	 * Initialize the game loop
+	 *
+	 * @param game The game to run
+	 */
+	public GameLoop(Game game) {
+		logger = getLogger(this.getClass(), LogLevel.GAME);
+		this.game = game;
+	}
+
+	/**
+	 * Add something to be updated by the loop, this should be done before the loop is started
+	 *
+	 * @param updatable The object or AI to update
+	 */
+	public void add(Updatable updatable) {
+		if (updatable.getUpdateTicks() > 0) {
+			updatables.add(updatable);
+		}
+	}
+
+	/**
+	 * Run a task in the game loop at the start of the next tick, this is used for input from other threads
+	 *
+	 * @param task The task to run
+	 */
+	public void invokeLater(Runnable task) {
+		tasks.add(task);
+	}
+
+	/**
+	 * Start the loop in a new thread
+	 */
+	public void start() {
+		active = true;
+		thread = new Thread(this);
+		thread.start();
+	}
+
+	/**
+	 * Run the ticks one after another in the current thread without waiting between them, until the loop is stopped
+	 * or the max ticks have passed
+	 *
+	 * @param maxTicks The number of ticks after which the loop stops
+	 */
+	public void runUnpaced(long maxTicks) {
+		active = true;
+		while (active && ticks < maxTicks) {
+			tick();
+		}
+		active = false;
+	}
+
+	/**
+	 * Run the ticks at a fixed rate in the current thread, until the loop is stopped or the max ticks have passed
+	 *
+	 * @param maxTicks The number of ticks after which the loop stops
+	 */
+	public void runPaced(long maxTicks) {
+		active = true;
+		runTicks(maxTicks);
+		active = false;
+	}
+
+	/**
+	 * Stop the loop, the current tick is finished before stopping
+	 */
+	public void stop() {
+		active = false;
+		if (thread != null && thread != Thread.currentThread()) {
+			thread.interrupt();
+		}
+	}
+
+	/**
+	 * Check if the loop is active
+	 *
+	 * @return Returns true if the loop is running or false otherwise
+	 */
+	public boolean isActive() {
+		return active;
+	}
+
+	/**
+	 * Get how fast the ticks are run compared to real time
+	 *
+	 * @return Returns the time scale, 0 if the ticks are run as fast as possible
+	 */
+	public double getTimeScale() {
+		return timeScale;
+	}
+
+	/**
+	 * Set how fast the ticks are run compared to real time, this can be changed while the loop is running
+	 *
+	 * @param timeScale The time scale, e.g. 10 runs 10 ticks in the time of 1, 0 runs them as fast as possible
+	 */
+	public void setTimeScale(double timeScale) {
+		this.timeScale = Math.max(0, timeScale);
+	}
+
+	/**
+	 * Get the number of ticks that have passed
+	 *
+	 * @return Returns the ticks
+	 */
+	public long getTicks() {
+		return ticks;
+	}
+
+	/**
+	 * Advance the game by one tick
+	 */
+	public void tick() {
+		ticks++;
+
+		Runnable task;
+		while ((task = tasks.poll()) != null) {
+			task.run();
+		}
+
+		for (Updatable updatable : updatables) {
+			if (!active) {
+				// The game ended during this tick
+				break;
+			}
+			if (ticks % updatable.getUpdateTicks() == 0) {
+				updatable.update();
+			}
+		}
+
+		// The timed animations are worked out from the ticks, so any tick can change what is drawn, the view only
+		// draws the cells that really changed
+		game.repaint();
+	}
+
+	/**
+	 * Run the ticks at a fixed rate until the loop is stopped, the rate is the tick length divided by the time scale
+	 */
+	@Override
+	public void run() {
+		runTicks(Long.MAX_VALUE);
+	}
+
+	/**
+	 * Run the ticks at a fixed rate until the loop is stopped or the max ticks have passed, the rate is the tick length
+	 * divided by the time scale
+	 *
+	 * @param maxTicks The number of ticks after which the loop stops
+	 */
+	private void runTicks(long maxTicks) {
+		long lastTick = System.nanoTime();
+		while (active && ticks < maxTicks) {
+			double scale = timeScale;
+			if (scale <= 0) {
+				// Let the other threads, like the one drawing the frames, run between the ticks
+				Thread.yield();
+				tick();
+				lastTick = System.nanoTime();
+				continue;
+			}
+			long tickLength = (long) (TICK_LENGTH * 1000000L / scale);
+			long wait = lastTick + tickLength - System.nanoTime();
+			if (wait > 0) {
+				try {
+					Thread.sleep(wait / 1000000L, (int) (wait % 1000000L));
+				}
+				catch (InterruptedException e) {
+					logger.info(e.getMessage());
+					continue;
+				}
+			}
+			else if (wait < -tickLength * 10) {
+				// We fell too far behind, don't try to catch up all at once
+				lastTick = System.nanoTime() - tickLength;
+			}
+			tick();
+			lastTick = lastTick + tickLength;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka;
+
+import java.util.SplittableRandom;
+
+/**
+ * This class gives the random numbers of a match, everything comes from one seed so a match can be played again by
+ * using the same seed, the scene and the AI use separate streams so that one using more numbers doesn't change the
+ * numbers of the other
+ */
+public class GameRandom {
+	/**
+	 * The seed of the match
+	 */
+	private final long seed;
+	/**
+	 * The stream used to place the objects in the scene
+	 */
+	private final SplittableRandom scene;
+	/**
+	 * The stream used by the AI to break ties
+	 */
+	private final SplittableRandom ai;
+
+	/**
+	 * Initialize the random numbers with a new seed
+	 */
+	public GameRandom() {
+		this(new SplittableRandom().nextLong());
+	}
+
+	/**
+	 * Initialize the random numbers with the given seed
+	 *
+	 * @param seed The seed of the match
+	 */
+	public GameRandom(long seed) {
+		this.seed = seed;
+		SplittableRandom random = new SplittableRandom(seed);
+		scene = random.split();
+		ai = random.split();
+	}
+
+	/**
+	 * Get the seed of the match
+	 *
+	 * @return Returns the seed
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Generate a random number between given min and max for the scene, this is only used by the thread that makes the
+	 * scene layout
+	 *
+	 * @param min Minimum number in range
+	 * @param max Maximum number in range
+	 * @return Returns a random number
+	 */
+	public int sceneRandom(int min, int max) {
+		return scene.nextInt(min, max + 1);
+	}
+
+	/**
+	 * Generate a random number between given min and max for the AI, this is only used by the game loop
+	 *
+	 * @param min Minimum number in range
+	 * @param max Maximum number in range
+	 * @return Returns a random number
+	 */
+	public int aiRandom(int min, int max) {
+		return ai.nextInt(min, max + 1);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka;
+
+/**
+ * This class contains the settings of a match that can change from one match to another, they start with the values
+ * of the constants so that matches with different settings can be played at the same time
+ */
+public class GameSettings implements Constants {
+	/**
+	 * Which type of AI the player uses
+	 */
+	private final PlayerAIType playerAI;
+	/**
+	 * The heuristic the player AI uses in its distance calculations
+	 */
+	private final AIHeuristic aiHeuristic;
+	/**
+	 * The amount of enemies to place
+	 */
+	private final int enemies;
+
+	/**
+	 * Initialize the settings with the values of the constants
+	 */
+	public GameSettings() {
+		this(PLAYER_AI, AI_HEURISTIC, ENEMIES);
+	}
+
+	/**
+	 * Initialize the settings
+	 *
+	 * @param playerAI    Which type of AI the player uses
+	 * @param aiHeuristic The heuristic the player AI uses
+	 * @param enemies     The amount of enemies to place
+	 */
+	public GameSettings(PlayerAIType playerAI, AIHeuristic aiHeuristic, int enemies) {
+		this.playerAI = playerAI;
+		this.aiHeuristic = aiHeuristic;
+		this.enemies = enemies;
+	}
+
+	/**
+	 * Get the type of AI the player uses
+	 *
+	 * @return Returns the type of AI
+	 */
+	public PlayerAIType getPlayerAI() {
+		return playerAI;
+	}
+
+	/**
+	 * Get the heuristic the player AI uses
+	 *
+	 * @return Returns the heuristic
+	 */
+	public AIHeuristic getAIHeuristic() {
+		return aiHeuristic;
+	}
+
+	/**
+	 * Get the amount of enemies to place
+	 *
+	 * @return Returns the amount of enemies
+	 */
+	public int getEnemies() {
+		return enemies;
+	}
+
+	/**
+	 * Get the number of cells that are left empty inside the walls once everything is placed, if there are too few the
+	 * objects might not fit
+	 *
+	 * @return Returns the number of cells
+	 */
+	public int getValidCells() {
+		int validCells = (HORIZONTAL_CELLS - 2) * (VERTICAL_CELLS - 2);
+		validCells = validCells - enemies;
+		validCells = validCells - (CHESTS * 2);
+		validCells = validCells - OBSTACLES;
+		return validCells;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka;
+
+/**
+ * This class contains the cells of the scene in a flat array, the cell at x, y is at the index x * height + y which is
+ * the same index the AI uses for its own arrays
+ */
+public class Grid implements Constants {
+	/**
+	 * The number of cells horizontally
+	 */
+	private final int width;
+	/**
+	 * The number of cells vertically
+	 */
+	private final int height;
+	/**
+	 * The cells by index
+	 */
+	private final Cell[] cells;
+	/**
+	 * Whether or not there is an object that collides in each cell, the cells keep this up to date
+	 */
+	private final boolean[] blocked;
+
+	/**
+	 * Initialize the grid and its cells
+	 *
+	 * @param width      The number of cells horizontally
+	 * @param height     The number of cells vertically
+	 * @param leftMargin The left margin of the grid in pixels
+	 * @param topMargin  The top margin of the grid in pixels
+	 */
+	public Grid(int width, int height, int leftMargin, int topMargin) {
+		this.width = width;
+		this.height = height;
+		cells = new Cell[width * height];
+		blocked = new boolean[width * height];
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				int index = getIndex(x, y);
+				cells[index] = new Cell(this, index, leftMargin + x * CELL_PIXELS, topMargin + y * CELL_PIXELS, x, y);
+			}
+		}
+	}
+
+	/**
+	 * Get the number of cells horizontally
+	 *
+	 * @return Returns the width
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Get the number of cells vertically
+	 *
+	 * @return Returns the height
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Get the number of cells in the grid
+	 *
+	 * @return Returns the number of cells
+	 */
+	public int size() {
+		return cells.length;
+	}
+
+	/**
+	 * Get the index of a cell
+	 *
+	 * @param x The x coordinate of the cell
+	 * @param y The y coordinate of the cell
+	 * @return Returns the index
+	 */
+	public int getIndex(int x, int y) {
+		return x * height + y;
+	}
+
+	/**
+	 * Get a cell
+	 *
+	 * @param x The x coordinate of the cell
+	 * @param y The y coordinate of the cell
+	 * @return Returns the cell
+	 */
+	public Cell getCell(int x, int y) {
+		return cells[x * height + y];
+	}
+
+	/**
+	 * Get a cell by its index
+	 *
+	 * @param index The index of the cell
+	 * @return Returns the cell
+	 */
+	public Cell getCell(int index) {
+		return cells[index];
+	}
+
+	/**
+	 * Check if there is an object that collides in a cell
+	 *
+	 * @param x The x coordinate of the cell
+	 * @param y The y coordinate of the cell
+	 * @return Returns true if the cell is blocked
+	 */
+	public boolean isBlocked(int x, int y) {
+		return blocked[x * height + y];
+	}
+
+	/**
+	 * Check if there is an object that collides in a cell
+	 *
+	 * @param index The index of the cell
+	 * @return Returns true if the cell is blocked
+	 */
+	public boolean isBlocked(int index) {
+		return blocked[index];
+	}
+
+	/**
+	 * Mark if there is an object that collides in a cell, this is called by the cell when its object changes
+	 *
+	 * @param index   The index of the cell
+	 * @param blocked Whether or not the cell is blocked
+	 */
+	void setBlocked(int index, boolean blocked) {
+		this.blocked[index] = blocked;
+	}
+}
\ No newline at end of file
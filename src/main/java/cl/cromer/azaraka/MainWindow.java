@@ -15,7 +15,8 @@
 
 package cl.cromer.azaraka;
 
-import javax.imageio.ImageIO;
+import cl.cromer.azaraka.sprite.AssetCache;
+
 import javax.swing.JFrame;
 import java.awt.BorderLayout;
 import java.awt.Dimension;
@@ -48,7 +49,7 @@ public class MainWindow extends JFrame implements Constants {
 		setTitle(TITLE);
 		String icon = "/img/icon.png";
 		try {
-			BufferedImage image = ImageIO.read(getClass().getResourceAsStream(icon));
+			BufferedImage image = AssetCache.getInstance().getImage(icon);
 			this.setIconImage(image);
 		}
 		catch (IOException | IllegalArgumentException e) {
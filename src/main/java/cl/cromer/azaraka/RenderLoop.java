@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka;
+
+import java.util.logging.Logger;
+
+/**
+ * This class draws the canvas from its own thread at a steady rate, a frame is only drawn if one was requested since
+ * the last frame, so many requests in the same frame are drawn only once
+ */
+public class RenderLoop implements Runnable, Constants {
+	/**
+	 * The canvas to draw
+	 */
+	private final Canvas canvas;
+	/**
+	 * The logger
+	 */
+	private final Logger logger;
+	/**
+	 * The thread the loop runs in
+	 */
+	private Thread thread;
+	/**
+	 * Whether or not the loop is active
+	 */
+	private volatile boolean active = false;
+
+	/**
+	 * Initialize the render loop
+	 *
+	 * @param canvas The canvas to draw
+	 */
+	public RenderLoop(Canvas canvas) {
+		logger = getLogger(this.getClass(), LogLevel.CANVAS);
+		this.canvas = canvas;
+	}
+
+	/**
+	 * Start the loop in a new thread
+	 */
+	public void start() {
+		active = true;
+		thread = new Thread(this);
+		thread.start();
+	}
+
+	/**
+	 * Stop the loop, the current frame is finished before stopping
+	 */
+	public void stop() {
+		active = false;
+		if (thread != null && thread != Thread.currentThread()) {
+			thread.interrupt();
+		}
+	}
+
+	/**
+	 * Draw the frames at the target rate until the loop is stopped
+	 */
+	@Override
+	public void run() {
+		long frameLength = 1000000000L / TARGET_FPS;
+		long nextFrame = System.nanoTime() + frameLength;
+		while (active) {
+			long wait = nextFrame - System.nanoTime();
+			if (wait > 0) {
+				try {
+					Thread.sleep(wait / 1000000L, (int) (wait % 1000000L));
+				}
+				catch (InterruptedException e) {
+					logger.info(e.getMessage());
+					continue;
+				}
+			}
+			else if (wait < -frameLength) {
+				// Drawing took too long, skip the frames that were missed instead of drawing them late
+				nextFrame = System.nanoTime();
+			}
+			if (canvas.isFrameRequested()) {
+				canvas.render();
+			}
+			nextFrame = nextFrame + frameLength;
+		}
+	}
+}
\ No newline at end of file
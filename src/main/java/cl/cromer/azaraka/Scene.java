@@ -15,10 +15,9 @@
 
 package cl.cromer.azaraka;
 
-import cl.cromer.azaraka.ai.EnemyAI;
-import cl.cromer.azaraka.ai.PlayerAI;
-import cl.cromer.azaraka.ai.PlayerBreadthFirstAI;
-import cl.cromer.azaraka.ai.State;
+import cl.cromer.azaraka.ai.CellCostListener;
+import cl.cromer.azaraka.ai.FlowField;
+import cl.cromer.azaraka.ai.InfluenceMap;
 import cl.cromer.azaraka.json.Json;
 import cl.cromer.azaraka.json.JsonCell;
 import cl.cromer.azaraka.object.Chest;
@@ -31,44 +30,61 @@ import cl.cromer.azaraka.object.Player;
 import cl.cromer.azaraka.object.Portal;
 import cl.cromer.azaraka.sound.Sound;
 import cl.cromer.azaraka.sound.SoundException;
+import cl.cromer.azaraka.sprite.AssetCache;
 import cl.cromer.azaraka.sprite.Sheet;
 import cl.cromer.azaraka.sprite.SheetException;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 
-import javax.swing.JComponent;
+import java.awt.Color;
 import java.awt.Graphics;
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Shape;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Logger;
 
 /**
  * The scene used for the game
  */
-public class Scene extends JComponent implements Constants {
+public class Scene implements Constants {
 	/**
-	 * The canvas
+	 * The game
 	 */
-	private final Canvas canvas;
+	private final Game game;
 	/**
 	 * The cells of the game
 	 */
-	private final CopyOnWriteArrayList<CopyOnWriteArrayList<Cell>> cells;
+	private final Grid grid;
 	/**
 	 * The logger
 	 */
 	private final Logger logger;
+	/**
+	 * The distances to the player shared by all the enemies
+	 */
+	private final FlowField playerFlowField = new FlowField(this);
+	/**
+	 * The danger of each cell based on how close the enemies are
+	 */
+	private final InfluenceMap enemyInfluence = new InfluenceMap(ENEMY_INFLUENCE, this::cellCostChanged);
+	/**
+	 * The listeners that want to know when the cost of a cell changes
+	 */
+	private final List<CellCostListener> cellCostListeners = new ArrayList<>();
 	/**
 	 * A collection of tiles that can be used in the scene
 	 */
 	private Sheet textureSheet;
+	/**
+	 * The textures of all the cells, drawn once and then only where they change
+	 */
+	private BufferedImage background;
+	/**
+	 * Where the random objects go, null until it is made if none was given
+	 */
+	private SceneLayout layout;
 	/**
 	 * Whether or not the door is open
 	 */
@@ -81,224 +97,129 @@ public class Scene extends JComponent implements Constants {
 	/**
 	 * Initialize the scene
 	 *
-	 * @param canvas The canvas that this scene is in
+	 * @param game   The game that this scene is in
+	 * @param layout A layout made in advance, or null to load the scene and make the layout here
 	 */
-	public Scene(Canvas canvas) {
+	public Scene(Game game, SceneLayout layout) {
 		logger = getLogger(this.getClass(), LogLevel.SCENE);
-		this.canvas = canvas;
+		this.game = game;
+		this.layout = layout;
 		loadTextures();
 
-		cells = new CopyOnWriteArrayList<>();
+		grid = new Grid(HORIZONTAL_CELLS, VERTICAL_CELLS, game.getLeftMargin(), game.getTopMargin());
 
-		if (GENERATE_SCENE) {
+		if (layout != null && layout.getJsonCells() != null) {
+			loadScene(layout.getJsonCells());
+		}
+		else if (GENERATE_SCENE) {
 			generateScene();
 		}
 		else {
-			StringBuilder stringBuilder = new StringBuilder();
-
-			InputStream inputStream = getClass().getResourceAsStream("/scene.json");
-			try {
-				String line;
-				BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream));
-				while ((line = bufferedReader.readLine()) != null) {
-					stringBuilder.append(line);
-				}
-			}
-			catch (IOException e) {
-				logger.warning(e.getMessage());
-			}
-			loadScene(stringBuilder.toString());
+			Json json = new Json();
+			loadScene(json.importScene());
 		}
 
 		if (EXPORT_SCENE) {
 			Json json = new Json();
-			json.exportScene(cells);
+			json.exportScene(grid);
 		}
 	}
 
 	/**
-	 * Load the scene from a JSON file
+	 * Load the scene from the JSON cells
 	 *
-	 * @param json The JSON string to load
+	 * @param jsonCells The JSON cells to load
 	 */
-	private void loadScene(String json) {
-		GsonBuilder gsonBuilder = new GsonBuilder();
-		Gson gson = gsonBuilder.create();
-		JsonCell[][] jsonCells = gson.fromJson(json, JsonCell[][].class);
-
+	private void loadScene(JsonCell[][] jsonCells) {
 		for (int x = 0; x < jsonCells.length; x++) {
 			for (int y = 0; y < jsonCells[x].length; y++) {
-				if (cells.size() <= x) {
-					cells.add(new CopyOnWriteArrayList<>());
-				}
-				Cell cell = new Cell((x * CELL_PIXELS) + canvas.getLeftMargin(), (y * CELL_PIXELS) + canvas.getTopMargin(), x, y);
-				cells.get(x).add(cell);
-
-				if (jsonCells[x][y].type.equals(Player.class.getName())) {
-					cells.get(x).get(y).setObject(Player.getInstance(null, cells.get(x).get(y)));
-				}
-				else if (jsonCells[x][y].type.equals(Enemy.class.getName())) {
-					cells.get(x).get(y).setObject(new Enemy(null, cells.get(x).get(y), null));
-				}
-				else if (jsonCells[x][y].type.equals(Chest.class.getName())) {
-					cells.get(x).get(y).setObject(new Chest(null, cells.get(x).get(y)));
-				}
-				else if (jsonCells[x][y].type.equals(Gem.class.getName())) {
-					cells.get(x).get(y).setObject(new Gem(null, cells.get(x).get(y)));
-				}
-				else if (jsonCells[x][y].type.equals(Key.class.getName())) {
-					cells.get(x).get(y).setObject(new Key(null, cells.get(x).get(y)));
-				}
-				else if (jsonCells[x][y].type.equals(Obstacle.class.getName())) {
-					cells.get(x).get(y).setObject(new Obstacle(null, cells.get(x).get(y)));
-				}
-				else if (jsonCells[x][y].type.equals(Portal.class.getName())) {
-					cells.get(x).get(y).setObject(Portal.getInstance(null, cells.get(x).get(y)));
+				Cell cell = grid.getCell(x, y);
+
+				switch (jsonCells[x][y].type) {
+					case PLAYER:
+						cell.setObject(new Player(null, cell));
+						break;
+					case ENEMY:
+						cell.setObject(new Enemy(null, cell));
+						break;
+					case CHEST:
+						cell.setObject(new Chest(null, cell));
+						break;
+					case GEM:
+						cell.setObject(new Gem(null, cell));
+						break;
+					case KEY:
+						cell.setObject(new Key(null, cell));
+						break;
+					case OBSTACLE:
+						cell.setObject(new Obstacle(null, cell));
+						break;
+					case PORTAL:
+						cell.setObject(new Portal(null, cell));
+						break;
 				}
 
 				for (int k = 0; k < jsonCells[x][y].textures.size(); k++) {
-					try {
-						cells.get(x).get(y).addTexture(textureSheet.getTexture(jsonCells[x][y].textures.get(k)), jsonCells[x][y].textures.get(k));
-					}
-					catch (SheetException e) {
-						logger.warning(e.getMessage());
-					}
+					cell.addTexture(jsonCells[x][y].textures.get(k));
 				}
 			}
 		}
 	}
 
 	/**
-	 * Generate random objects in the scene
+	 * Generate random objects in the scene where the layout says they go
 	 *
 	 * @return Returns a list of objects that where generated
 	 */
 	public List<Object> generateRandomObjects() {
-		int[] random;
+		if (layout == null) {
+			// The layout uses the same index as the grid
+			boolean[] blocked = new boolean[grid.size()];
+			for (int i = 0; i < grid.size(); i++) {
+				blocked[i] = grid.getCell(i).containsObject();
+			}
+			layout = new SceneLayout(blocked, game.getSettings(), game.getGameRandom());
+		}
+
 		List<Object> objectArrayList = new ArrayList<>();
 
 		// The player has a fixed position
-		cells.get(2).get(1).setObject(Player.getInstance(this, cells.get(2).get(1)));
-		objectArrayList.add(cells.get(2).get(1).getObject());
-
-		for (int i = 0; i < OBSTACLES; i++) {
-			random = randomCoordinates();
-			cells.get(random[0]).get(random[1]).setObject(new Obstacle(this, cells.get(random[0]).get(random[1])));
-			objectArrayList.add(cells.get(random[0]).get(random[1]).getObject());
-			try {
-				cells.get(random[0]).get(random[1]).addTexture(textureSheet.getTexture(30), 30);
-			}
-			catch (SheetException e) {
-				logger.warning(e.getMessage());
-			}
+		grid.getCell(2, 1).setObject(new Player(this, grid.getCell(2, 1)));
+		objectArrayList.add(grid.getCell(2, 1).getObject());
+
+		for (int[] coordinates : layout.getObstacles()) {
+			Cell cell = grid.getCell(coordinates[0], coordinates[1]);
+			cell.setObject(new Obstacle(this, cell));
+			objectArrayList.add(cell.getObject());
+			cell.addTexture(30);
 		}
 
-		final Lock lock = new ReentrantLock(true);
-		for (int i = 0; i < ENEMIES; i++) {
-			random = randomCoordinates();
-			cells.get(random[0]).get(random[1]).setObject(new Enemy(this, cells.get(random[0]).get(random[1]), lock));
-			objectArrayList.add(cells.get(random[0]).get(random[1]).getObject());
+		for (int[] coordinates : layout.getEnemies()) {
+			Cell cell = grid.getCell(coordinates[0], coordinates[1]);
+			cell.setObject(new Enemy(this, cell));
+			objectArrayList.add(cell.getObject());
+			enemyInfluence.addEnemy(coordinates[0], coordinates[1]);
 		}
 
-		random = randomCoordinates();
-		cells.get(random[0]).get(random[1]).setObjectOnBottom(Portal.getInstance(this, cells.get(random[0]).get(random[1])));
-		objectArrayList.add(cells.get(random[0]).get(random[1]).getObjectOnBottom());
+		Cell portalCell = grid.getCell(layout.getPortal()[0], layout.getPortal()[1]);
+		portalCell.setObjectOnBottom(new Portal(this, portalCell));
+		objectArrayList.add(portalCell.getObjectOnBottom());
 
-		// Generate enough keys for the chests that will exist
-		for (int i = 0; i < CHESTS; i++) {
-			random = randomCoordinates();
-			cells.get(random[0]).get(random[1]).setObjectOnBottom(new Key(this, cells.get(random[0]).get(random[1])));
-			objectArrayList.add(cells.get(random[0]).get(random[1]).getObjectOnBottom());
-		}
-
-		// Chests need to be last to make sure they are openable
-		for (int i = 0; i < CHESTS; i++) {
-			int random_x = random(0, HORIZONTAL_CELLS - 1);
-			int random_y = random(0, VERTICAL_CELLS - 1);
-			// Don't put a chest if it can't be opened
-			while (random_y + 1 == VERTICAL_CELLS ||
-					cells.get(random_x).get(random_y).containsObject() ||
-					cells.get(random_x).get(random_y + 1).containsObject()) {
-				random_x = random(0, HORIZONTAL_CELLS - 1);
-				random_y = random(0, VERTICAL_CELLS - 1);
-			}
-			cells.get(random_x).get(random_y).setObject(new Chest(this, cells.get(random_x).get(random_y)));
-			objectArrayList.add(cells.get(random_x).get(random_y).getObject());
+		for (int[] coordinates : layout.getKeys()) {
+			Cell cell = grid.getCell(coordinates[0], coordinates[1]);
+			cell.setObjectOnBottom(new Key(this, cell));
+			objectArrayList.add(cell.getObjectOnBottom());
 		}
 
-		for (Object object : objectArrayList) {
-			int x = object.getCell().getX();
-			int y = object.getCell().getY();
-			if (object instanceof Chest) {
-				if (pathInvalid(x, y + 1)) {
-					// Chest is unreachable
-					return null;
-				}
-			}
-			else if (object instanceof Portal || object instanceof Key) {
-				if (pathInvalid(x, y)) {
-					// Portal or key is unreachable
-					return null;
-				}
-			}
-			else if (object instanceof Enemy) {
-				if (enemyPathInvalid(x, y)) {
-					// Enemy can't reach player
-					return null;
-				}
-			}
+		for (int[] coordinates : layout.getChests()) {
+			Cell cell = grid.getCell(coordinates[0], coordinates[1]);
+			cell.setObject(new Chest(this, cell));
+			objectArrayList.add(cell.getObject());
 		}
 
 		return objectArrayList;
 	}
 
-	/**
-	 * Check if the path to the objective is valid
-	 *
-	 * @param x The x coordinate of the objective
-	 * @param y The y coordinate of the objective
-	 * @return Returns true if valid or false otherwise
-	 */
-	private boolean pathInvalid(int x, int y) {
-		PlayerAI playerAI = new PlayerBreadthFirstAI(this, null);
-		State playerState = new State(2, 1, State.Type.PLAYER, null, 0);
-		State objectiveState = new State(x, y, State.Type.EXIT, null, 0);
-		return !playerAI.search(playerState, objectiveState);
-	}
-
-	/**
-	 * Check if the path to the player is valid
-	 *
-	 * @param x The x coordinate of the enemy
-	 * @param y The y coordinate of the enemy
-	 * @return Returns true if valid or false otherwise
-	 */
-	private boolean enemyPathInvalid(int x, int y) {
-		EnemyAI enemyAI = new EnemyAI(this, null);
-		State playerState = new State(2, 1, State.Type.PLAYER, null, 0);
-		State enemyState = new State(x, y, State.Type.ENEMY, null, 0);
-		return !enemyAI.search(enemyState, playerState);
-	}
-
-	/**
-	 * Get random x and y coordinates
-	 *
-	 * @return Returns an array with the coordinates
-	 */
-	private int[] randomCoordinates() {
-		int[] random = new int[2];
-		random[0] = random(0, HORIZONTAL_CELLS - 1);
-		random[1] = random(0, VERTICAL_CELLS - 1);
-		// If the cell is not empty look for another
-		// If the cell is not reachable by the player look for another
-		// If the player can't reach the bottom right corner look for another
-		while (cells.get(random[0]).get(random[1]).containsObject()) {
-			random[0] = random(0, HORIZONTAL_CELLS - 1);
-			random[1] = random(0, VERTICAL_CELLS - 1);
-		}
-		return random;
-	}
-
 	/**
 	 * Generate the scene manually without the JSON file
 	 */
@@ -306,178 +227,89 @@ public class Scene extends JComponent implements Constants {
 		for (int x = 0; x < HORIZONTAL_CELLS; x++) {
 			for (int y = 0; y < VERTICAL_CELLS; y++) {
 				logger.info("Generate cell x: " + x + " y: " + y + " manually");
-				if (cells.size() == x) {
-					cells.add(new CopyOnWriteArrayList<>());
-				}
-				Cell cell = new Cell((x * CELL_PIXELS) + canvas.getLeftMargin(), (y * CELL_PIXELS) + canvas.getTopMargin(), x, y);
-				cells.get(x).add(cell);
-				try {
-					cells.get(x).get(y).addTexture(textureSheet.getTexture(0), 0);
-				}
-				catch (SheetException e) {
-					logger.warning(e.getMessage());
-				}
+				Cell cell = grid.getCell(x, y);
+				cell.addTexture(0);
 
 				if (x == 0 && y == 0) {
 					// Top left corner
-					cells.get(x).get(y).setObject(new Obstacle(this, cells.get(x).get(y)));
-					try {
-						cells.get(x).get(y).addTexture(textureSheet.getTexture(33), 33);
-					}
-					catch (SheetException e) {
-						logger.warning(e.getMessage());
-					}
+					cell.setObject(new Obstacle(this, cell));
+					cell.addTexture(33);
 				}
 				else if (x == HORIZONTAL_CELLS - 1 && y == 0) {
 					// Top right corner
-					cells.get(x).get(y).setObject(new Obstacle(this, cells.get(x).get(y)));
-					try {
-						cells.get(x).get(y).addTexture(textureSheet.getTexture(37), 37);
-					}
-					catch (SheetException e) {
-						logger.warning(e.getMessage());
-					}
+					cell.setObject(new Obstacle(this, cell));
+					cell.addTexture(37);
 				}
 				else if (x == 0 && y == VERTICAL_CELLS - 1) {
 					// Bottom left corner
-					cells.get(x).get(y).setObject(new Obstacle(this, cells.get(x).get(y)));
-					try {
-						cells.get(x).get(y).addTexture(textureSheet.getTexture(97), 97);
-					}
-					catch (SheetException e) {
-						logger.warning(e.getMessage());
-					}
+					cell.setObject(new Obstacle(this, cell));
+					cell.addTexture(97);
 				}
 				else if (x == HORIZONTAL_CELLS - 1 && y == VERTICAL_CELLS - 1) {
 					// Bottom right corner
-					cells.get(x).get(y).setObject(new Obstacle(this, cells.get(x).get(y)));
-					try {
-						cells.get(x).get(y).addTexture(textureSheet.getTexture(101), 101);
-					}
-					catch (SheetException e) {
-						logger.warning(e.getMessage());
-					}
+					cell.setObject(new Obstacle(this, cell));
+					cell.addTexture(101);
 				}
 				else if (y == 0) {
 					// Top wall
-					cells.get(x).get(y).setObject(new Obstacle(this, cells.get(x).get(y)));
+					cell.setObject(new Obstacle(this, cell));
 					if (x == 1) {
 						// Left door frame
-						try {
-							cells.get(x).get(y).addTexture(textureSheet.getTexture(144), 144);
-							cells.get(x).get(y).addTexture(textureSheet.getTexture(192), 192);
-						}
-						catch (SheetException e) {
-							logger.warning(e.getMessage());
-						}
+						cell.addTexture(144);
+						cell.addTexture(192);
 					}
 					else if (x == 2) {
 						// Door
-						try {
-							cells.get(x).get(y).addTexture(textureSheet.getTexture(145), 145);
-						}
-						catch (SheetException e) {
-							logger.warning(e.getMessage());
-						}
+						cell.addTexture(145);
 					}
 					else if (x == 3) {
 						// Right door frame
-						try {
-							cells.get(x).get(y).addTexture(textureSheet.getTexture(146), 146);
-							cells.get(x).get(y).addTexture(textureSheet.getTexture(194), 194);
-						}
-						catch (SheetException e) {
-							logger.warning(e.getMessage());
-						}
+						cell.addTexture(146);
+						cell.addTexture(194);
 					}
 					else if (x == 8) {
 						// Broken wall piece
-						try {
-							cells.get(x).get(y).addTexture(textureSheet.getTexture(105), 105);
-						}
-						catch (SheetException e) {
-							logger.warning(e.getMessage());
-						}
+						cell.addTexture(105);
 					}
 					else if (x % 2 == 0) {
-						try {
-							cells.get(x).get(y).addTexture(textureSheet.getTexture(34), 34);
-							cells.get(x).get(y).addTexture(textureSheet.getTexture(222), 222);
-						}
-						catch (SheetException e) {
-							logger.warning(e.getMessage());
-						}
+						cell.addTexture(34);
+						cell.addTexture(222);
 					}
 					else {
-						try {
-							cells.get(x).get(y).addTexture(textureSheet.getTexture(35), 35);
-						}
-						catch (SheetException e) {
-							logger.warning(e.getMessage());
-						}
+						cell.addTexture(35);
 					}
 				}
 				else if (x == 0) {
 					// Left wall
-					cells.get(x).get(y).setObject(new Obstacle(this, cells.get(x).get(y)));
+					cell.setObject(new Obstacle(this, cell));
 					if (y % 2 == 0) {
-						try {
-							cells.get(x).get(y).addTexture(textureSheet.getTexture(49), 49);
-							cells.get(x).get(y).addTexture(textureSheet.getTexture(255), 255);
-						}
-						catch (SheetException e) {
-							logger.warning(e.getMessage());
-						}
+						cell.addTexture(49);
+						cell.addTexture(255);
 					}
 					else {
-						try {
-							cells.get(x).get(y).addTexture(textureSheet.getTexture(65), 65);
-						}
-						catch (SheetException e) {
-							logger.warning(e.getMessage());
-						}
+						cell.addTexture(65);
 					}
 				}
 				else if (x == HORIZONTAL_CELLS - 1) {
 					// Right wall
-					cells.get(x).get(y).setObject(new Obstacle(this, cells.get(x).get(y)));
+					cell.setObject(new Obstacle(this, cell));
 					if (y % 2 == 0) {
-						try {
-							cells.get(x).get(y).addTexture(textureSheet.getTexture(53), 53);
-							cells.get(x).get(y).addTexture(textureSheet.getTexture(238), 238);
-						}
-						catch (SheetException e) {
-							logger.warning(e.getMessage());
-						}
+						cell.addTexture(53);
+						cell.addTexture(238);
 					}
 					else {
-						try {
-							cells.get(x).get(y).addTexture(textureSheet.getTexture(69), 69);
-						}
-						catch (SheetException e) {
-							logger.warning(e.getMessage());
-						}
+						cell.addTexture(69);
 					}
 				}
 				else if (y == VERTICAL_CELLS - 1) {
 					// Bottom wall
-					cells.get(x).get(y).setObject(new Obstacle(this, cells.get(x).get(y)));
+					cell.setObject(new Obstacle(this, cell));
 					if (x % 2 == 0) {
-						try {
-							cells.get(x).get(y).addTexture(textureSheet.getTexture(98), 98);
-							cells.get(x).get(y).addTexture(textureSheet.getTexture(207), 207);
-						}
-						catch (SheetException e) {
-							logger.warning(e.getMessage());
-						}
+						cell.addTexture(98);
+						cell.addTexture(207);
 					}
 					else {
-						try {
-							cells.get(x).get(y).addTexture(textureSheet.getTexture(99), 99);
-						}
-						catch (SheetException e) {
-							logger.warning(e.getMessage());
-						}
+						cell.addTexture(99);
 					}
 				}
 			}
@@ -488,49 +320,161 @@ public class Scene extends JComponent implements Constants {
 	 * Load all the textures that will be shown in the game
 	 */
 	private void loadTextures() {
-		textureSheet = new Sheet("/img/textures/dungeon.png", 64, 64);
+		textureSheet = AssetCache.getInstance().getSheet("/img/textures/dungeon.png", 64, 64);
 	}
 
 	/**
 	 * Get the cells of the game
 	 *
-	 * @return Returns a matrix of the cells of the game
+	 * @return Returns the grid of the cells of the game
 	 */
-	public CopyOnWriteArrayList<CopyOnWriteArrayList<Cell>> getCells() {
-		return cells;
+	public Grid getGrid() {
+		return grid;
 	}
 
 	/**
-	 * Override the paintComponent method of JComponent to paint the scene
+	 * Get a cell of the game
 	 *
-	 * @param g The graphics object to paint
+	 * @param x The x coordinate of the cell
+	 * @param y The y coordinate of the cell
+	 * @return Returns the cell
 	 */
-	@Override
-	public void paintComponent(Graphics g) {
-		update(g);
+	public Cell getCell(int x, int y) {
+		return grid.getCell(x, y);
 	}
 
 	/**
-	 * Override the update method of JComponent to do double buffering
+	 * Draw the whole scene, the textures don't move so they are kept in a background image and only the cells whose
+	 * textures changed are drawn on it again
 	 *
 	 * @param g The graphics object
 	 */
-	@Override
 	public void update(Graphics g) {
-		for (int x = 0; x < HORIZONTAL_CELLS; x++) {
-			for (int y = 0; y < VERTICAL_CELLS; y++) {
-				cells.get(x).get(y).paintComponent(g);
+		updateBackground();
+		g.drawImage(background, game.getLeftMargin(), game.getTopMargin(), null);
+
+		for (int i = 0; i < grid.size(); i++) {
+			drawSprites(g, grid.getCell(i));
+		}
+	}
+
+	/**
+	 * Draw only the cells that changed since they were last drawn
+	 *
+	 * @param g The graphics object
+	 * @return Returns true if any cell was drawn
+	 */
+	public boolean updateChanged(Graphics g) {
+		updateBackground();
+
+		boolean drawn = false;
+		Shape clip = g.getClip();
+		for (int i = 0; i < grid.size(); i++) {
+			Cell cell = grid.getCell(i);
+			if (cell.hasChanged()) {
+				int x = cell.getX();
+				int y = cell.getY();
+				int xPixels = cell.getXPixels();
+				int yPixels = cell.getYPixels();
+				g.setClip(xPixels, yPixels, CELL_PIXELS, CELL_PIXELS);
+				g.drawImage(background, xPixels, yPixels, xPixels + CELL_PIXELS, yPixels + CELL_PIXELS, x * CELL_PIXELS, y * CELL_PIXELS, (x + 1) * CELL_PIXELS, (y + 1) * CELL_PIXELS, null);
+				drawSprites(g, cell);
+				drawn = true;
+			}
+		}
+		g.setClip(clip);
+		return drawn;
+	}
+
+	/**
+	 * Draw the sprites of a cell, the textures are drawn on the background
+	 *
+	 * @param g    The graphics object
+	 * @param cell The cell to draw
+	 */
+	private void drawSprites(Graphics g, Cell cell) {
+		cell.clearChanged();
+		// Draw the bottom sprite
+		Object objectOnBottom = cell.getObjectOnBottom();
+		if (objectOnBottom != null) {
+			objectOnBottom.drawAnimation(g, cell.getXPixels(), cell.getYPixels());
+		}
+
+		// Draw a sprite in the cell if needed
+		Object object = cell.getObject();
+		if (object != null) {
+			object.drawAnimation(g, cell.getXPixels(), cell.getYPixels());
+		}
+
+		// Draw the top sprite
+		Object objectOnTop = cell.getObjectOnTop();
+		if (objectOnTop != null) {
+			objectOnTop.drawAnimation(g, cell.getXPixels(), cell.getYPixels());
+		}
+	}
+
+	/**
+	 * Draw the textures of the cells that changed on the background
+	 */
+	private void updateBackground() {
+		if (background == null) {
+			GraphicsConfiguration graphicsConfiguration = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+			background = graphicsConfiguration.createCompatibleImage(HORIZONTAL_CELLS * CELL_PIXELS, VERTICAL_CELLS * CELL_PIXELS, Transparency.OPAQUE);
+		}
+
+		Graphics backgroundGraphics = null;
+		for (int i = 0; i < grid.size(); i++) {
+			Cell cell = grid.getCell(i);
+			if (cell.hasTexturesChanged()) {
+				if (backgroundGraphics == null) {
+					backgroundGraphics = background.getGraphics();
+				}
+				drawTextures(backgroundGraphics, cell);
+			}
+		}
+		if (backgroundGraphics != null) {
+			backgroundGraphics.dispose();
+		}
+	}
+
+	/**
+	 * Draw the textures of a cell on the background, the background starts at the top left cell
+	 *
+	 * @param g    The graphics object of the background
+	 * @param cell The cell to draw
+	 */
+	private void drawTextures(Graphics g, Cell cell) {
+		cell.clearTexturesChanged();
+		int backgroundX = cell.getX() * CELL_PIXELS;
+		int backgroundY = cell.getY() * CELL_PIXELS;
+		g.setColor(Color.black);
+		g.fillRect(backgroundX, backgroundY, CELL_PIXELS, CELL_PIXELS);
+		for (int texture : cell.getTextures()) {
+			try {
+				g.drawImage(textureSheet.getTexture(texture), backgroundX, backgroundY, null);
+			}
+			catch (SheetException e) {
+				logger.warning(e.getMessage());
 			}
 		}
 	}
 
 	/**
-	 * Get the parent canvas of this scene
+	 * Get the layout of the random objects
+	 *
+	 * @return Returns the layout, null if the random objects have not been generated yet
+	 */
+	public SceneLayout getLayout() {
+		return layout;
+	}
+
+	/**
+	 * Get the game this scene belongs to
 	 *
-	 * @return Returns the parent canvas
+	 * @return Returns the game
 	 */
-	public Canvas getCanvas() {
-		return canvas;
+	public Game getGame() {
+		return game;
 	}
 
 	/**
@@ -546,8 +490,11 @@ public class Scene extends JComponent implements Constants {
 	 * Play the sound of the door
 	 */
 	private void playDoorSound() {
+		if (doorSound == null) {
+			return;
+		}
 		try {
-			doorSound.setVolume(canvas.getVolume());
+			doorSound.setVolume(game.getVolume());
 			doorSound.play();
 		}
 		catch (SoundException e) {
@@ -571,24 +518,62 @@ public class Scene extends JComponent implements Constants {
 	 */
 	public void openDoor(boolean doorOpen) {
 		if (!doorOpen && isDoorOpen()) {
-			cells.get(2).get(0).setObject(new Obstacle(this, cells.get(2).get(0)));
-			try {
-				cells.get(2).get(0).addTexture(textureSheet.getTexture(193), 193);
-			}
-			catch (SheetException e) {
-				logger.warning(e.getMessage());
-			}
+			grid.getCell(2, 0).setObject(new Obstacle(this, grid.getCell(2, 0)));
+			grid.getCell(2, 0).addTexture(193);
 			this.doorOpen = false;
+			playerFlowField.invalidate();
+			cellCostChanged(2, 0);
 			playDoorSound();
 		}
 		else if (doorOpen && !isDoorOpen()) {
-			cells.get(2).get(0).removeTexture(193);
-			cells.get(2).get(0).setObject(null);
+			grid.getCell(2, 0).removeTexture(193);
+			grid.getCell(2, 0).setObject(null);
 			this.doorOpen = true;
+			playerFlowField.invalidate();
+			cellCostChanged(2, 0);
 			playDoorSound();
 		}
 	}
 
+	/**
+	 * Get the flow field that leads to the player
+	 *
+	 * @return Returns the flow field
+	 */
+	public FlowField getPlayerFlowField() {
+		return playerFlowField;
+	}
+
+	/**
+	 * Get the influence map of the enemies
+	 *
+	 * @return Returns the influence map
+	 */
+	public InfluenceMap getEnemyInfluence() {
+		return enemyInfluence;
+	}
+
+	/**
+	 * Add a listener that wants to know when the cost of a cell changes
+	 *
+	 * @param listener The listener
+	 */
+	public void addCellCostListener(CellCostListener listener) {
+		cellCostListeners.add(listener);
+	}
+
+	/**
+	 * Tell the listeners that a cell was blocked, unblocked, or its cost changed
+	 *
+	 * @param x The x coordinate of the cell
+	 * @param y The y coordinate of the cell
+	 */
+	private void cellCostChanged(int x, int y) {
+		for (CellCostListener listener : cellCostListeners) {
+			listener.cellCostChanged(x, y);
+		}
+	}
+
 	/**
 	 * Get the texture sheet
 	 *
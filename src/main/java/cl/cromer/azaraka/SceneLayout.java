@@ -0,0 +1,410 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka;
+
+import cl.cromer.azaraka.json.JsonCell;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * This class chooses where the random objects of a scene go, it only works with the coordinates so it can be done
+ * before the scene exists and on another thread, objects that block the path are only placed where they don't cut off
+ * any part of the scene, so every empty cell can always be reached by the player and the enemies
+ */
+public class SceneLayout implements Constants {
+	/**
+	 * The grid the layout was made for, null if the scene is generated manually
+	 */
+	private final JsonCell[][] jsonCells;
+	/**
+	 * The logger
+	 */
+	private final Logger logger;
+	/**
+	 * The cells that contain something
+	 */
+	private final boolean[] occupied;
+	/**
+	 * The cells that can't be walked through
+	 */
+	private final boolean[] blocked;
+	/**
+	 * The cells that have to stay empty, like the cell below a chest
+	 */
+	private final boolean[] reserved = new boolean[HORIZONTAL_CELLS * VERTICAL_CELLS];
+	/**
+	 * The generation in which each cell was visited by the connection check
+	 */
+	private final int[] visited = new int[HORIZONTAL_CELLS * VERTICAL_CELLS];
+	/**
+	 * The queued cells of the connection check
+	 */
+	private final int[] queuedCells = new int[HORIZONTAL_CELLS * VERTICAL_CELLS];
+	/**
+	 * The coordinates of the obstacles
+	 */
+	private final List<int[]> obstacles = new ArrayList<>();
+	/**
+	 * The coordinates of the enemies
+	 */
+	private final List<int[]> enemies = new ArrayList<>();
+	/**
+	 * The coordinates of the keys
+	 */
+	private final List<int[]> keys = new ArrayList<>();
+	/**
+	 * The coordinates of the chests
+	 */
+	private final List<int[]> chests = new ArrayList<>();
+	/**
+	 * The settings of the match the layout is for
+	 */
+	private final GameSettings settings;
+	/**
+	 * The random numbers of the match the layout is for
+	 */
+	private final GameRandom gameRandom;
+	/**
+	 * The coordinates of the portal
+	 */
+	private int[] portal;
+	/**
+	 * The current connection check, used to know which cells were visited without clearing the array
+	 */
+	private int generation = 0;
+
+	/**
+	 * Make a layout for a grid loaded from JSON
+	 *
+	 * @param jsonCells  The grid to place the objects in
+	 * @param settings   The settings of the match the layout is for
+	 * @param gameRandom The random numbers of the match the layout is for
+	 */
+	public SceneLayout(JsonCell[][] jsonCells, GameSettings settings, GameRandom gameRandom) {
+		this(jsonCells, getOccupied(jsonCells), settings, gameRandom);
+	}
+
+	/**
+	 * Make a layout for a grid where the given cells are already blocked
+	 *
+	 * @param blocked    The cells that already have an object that can't be walked through
+	 * @param settings   The settings of the match the layout is for
+	 * @param gameRandom The random numbers of the match the layout is for
+	 */
+	public SceneLayout(boolean[] blocked, GameSettings settings, GameRandom gameRandom) {
+		this(null, blocked, settings, gameRandom);
+	}
+
+	/**
+	 * Make a layout from coordinates that were chosen before, this is used to play a replay
+	 *
+	 * @param jsonCells  The grid the objects are in, or null if the scene is generated manually
+	 * @param settings   The settings of the match the layout is for
+	 * @param gameRandom The random numbers of the match the layout is for
+	 * @param obstacles  The coordinates of the obstacles
+	 * @param enemies    The coordinates of the enemies
+	 * @param portal     The coordinates of the portal
+	 * @param keys       The coordinates of the keys
+	 * @param chests     The coordinates of the chests
+	 */
+	public SceneLayout(JsonCell[][] jsonCells, GameSettings settings, GameRandom gameRandom, List<int[]> obstacles, List<int[]> enemies, int[] portal, List<int[]> keys, List<int[]> chests) {
+		logger = getLogger(this.getClass(), LogLevel.SCENE);
+		this.jsonCells = jsonCells;
+		this.settings = settings;
+		this.gameRandom = gameRandom;
+		occupied = new boolean[HORIZONTAL_CELLS * VERTICAL_CELLS];
+		blocked = new boolean[HORIZONTAL_CELLS * VERTICAL_CELLS];
+		this.obstacles.addAll(obstacles);
+		this.enemies.addAll(enemies);
+		this.portal = portal;
+		this.keys.addAll(keys);
+		this.chests.addAll(chests);
+	}
+
+	/**
+	 * Make the layout
+	 *
+	 * @param jsonCells  The grid to place the objects in, or null
+	 * @param blocked    The cells that already have an object that can't be walked through
+	 * @param settings   The settings of the match the layout is for
+	 * @param gameRandom The random numbers of the match the layout is for
+	 */
+	private SceneLayout(JsonCell[][] jsonCells, boolean[] blocked, GameSettings settings, GameRandom gameRandom) {
+		logger = getLogger(this.getClass(), LogLevel.SCENE);
+		this.jsonCells = jsonCells;
+		this.settings = settings;
+		this.gameRandom = gameRandom;
+		this.blocked = blocked;
+		occupied = blocked.clone();
+		generate();
+	}
+
+	/**
+	 * Get the cells of a JSON grid that have an object in them
+	 *
+	 * @param jsonCells The grid
+	 * @return Returns the cells that are not empty
+	 */
+	private static boolean[] getOccupied(JsonCell[][] jsonCells) {
+		boolean[] occupied = new boolean[HORIZONTAL_CELLS * VERTICAL_CELLS];
+		for (int x = 0; x < jsonCells.length; x++) {
+			for (int y = 0; y < jsonCells[x].length; y++) {
+				occupied[x * VERTICAL_CELLS + y] = jsonCells[x][y].type != JsonCell.Type.NULL;
+			}
+		}
+		return occupied;
+	}
+
+	/**
+	 * Choose the coordinates of every object, in the same order they are added to the scene
+	 */
+	private void generate() {
+		int[] random;
+
+		// The player has a fixed position
+		occupied[2 * VERTICAL_CELLS + 1] = true;
+
+		for (int i = 0; i < OBSTACLES; i++) {
+			random = randomBlockingCoordinates(false);
+			if (random == null) {
+				logger.warning("No room left for obstacles, only " + i + " were placed");
+				break;
+			}
+			obstacles.add(random);
+		}
+
+		for (int i = 0; i < settings.getEnemies(); i++) {
+			random = randomBlockingCoordinates(false);
+			if (random == null) {
+				logger.warning("No room left for enemies, only " + i + " were placed");
+				break;
+			}
+			enemies.add(random);
+		}
+
+		portal = randomCoordinates();
+
+		// Generate enough keys for the chests that will exist
+		for (int i = 0; i < CHESTS; i++) {
+			keys.add(randomCoordinates());
+		}
+
+		// Chests need to be last to make sure they are openable
+		for (int i = 0; i < CHESTS; i++) {
+			random = randomBlockingCoordinates(true);
+			if (random == null) {
+				logger.warning("No room left for chests, only " + i + " were placed");
+				break;
+			}
+			chests.add(random);
+			// The cell below the chest is where it is opened from, so nothing can block it
+			reserved[random[0] * VERTICAL_CELLS + random[1] + 1] = true;
+		}
+	}
+
+	/**
+	 * Get random x and y coordinates of an empty cell, every empty cell can be reached so nothing else is checked
+	 *
+	 * @return Returns an array with the coordinates
+	 */
+	private int[] randomCoordinates() {
+		int[] random = new int[2];
+		random[0] = gameRandom.sceneRandom(0, HORIZONTAL_CELLS - 1);
+		random[1] = gameRandom.sceneRandom(0, VERTICAL_CELLS - 1);
+		// If the cell is not empty look for another
+		while (occupied[random[0] * VERTICAL_CELLS + random[1]]) {
+			random[0] = gameRandom.sceneRandom(0, HORIZONTAL_CELLS - 1);
+			random[1] = gameRandom.sceneRandom(0, VERTICAL_CELLS - 1);
+		}
+		occupied[random[0] * VERTICAL_CELLS + random[1]] = true;
+		return random;
+	}
+
+	/**
+	 * Get random x and y coordinates of an empty cell where an object that blocks the path can be placed without
+	 * cutting off any other empty cell, every cell is tried at most once
+	 *
+	 * @param chest If true the cell below also has to be empty so that the chest can be opened
+	 * @return Returns an array with the coordinates or null if there is no cell left
+	 */
+	private int[] randomBlockingCoordinates(boolean chest) {
+		int[] candidates = new int[HORIZONTAL_CELLS * VERTICAL_CELLS];
+		int count = 0;
+		for (int x = 0; x < HORIZONTAL_CELLS; x++) {
+			for (int y = 0; y < VERTICAL_CELLS; y++) {
+				int index = x * VERTICAL_CELLS + y;
+				if (occupied[index] || reserved[index]) {
+					continue;
+				}
+				if (chest && (y + 1 == VERTICAL_CELLS || occupied[index + 1])) {
+					continue;
+				}
+				candidates[count++] = index;
+			}
+		}
+
+		while (count > 0) {
+			int i = gameRandom.sceneRandom(0, count - 1);
+			int index = candidates[i];
+			if (keepsConnected(index / VERTICAL_CELLS, index % VERTICAL_CELLS)) {
+				occupied[index] = true;
+				blocked[index] = true;
+				return new int[]{index / VERTICAL_CELLS, index % VERTICAL_CELLS};
+			}
+			candidates[i] = candidates[--count];
+		}
+		return null;
+	}
+
+	/**
+	 * Check if blocking a cell would leave the empty cells around it connected to each other
+	 *
+	 * @param x The x coordinate of the cell to block
+	 * @param y The y coordinate of the cell to block
+	 * @return Returns true if the cell can be blocked
+	 */
+	private boolean keepsConnected(int x, int y) {
+		int index = x * VERTICAL_CELLS + y;
+		int[] neighbours = new int[4];
+		int neighbourCount = 0;
+		if (y > 0 && !blocked[index - 1]) {
+			neighbours[neighbourCount++] = index - 1;
+		}
+		if (y < VERTICAL_CELLS - 1 && !blocked[index + 1]) {
+			neighbours[neighbourCount++] = index + 1;
+		}
+		if (x > 0 && !blocked[index - VERTICAL_CELLS]) {
+			neighbours[neighbourCount++] = index - VERTICAL_CELLS;
+		}
+		if (x < HORIZONTAL_CELLS - 1 && !blocked[index + VERTICAL_CELLS]) {
+			neighbours[neighbourCount++] = index + VERTICAL_CELLS;
+		}
+		if (neighbourCount <= 1) {
+			// Nothing can be cut off through a dead end
+			return neighbourCount == 1;
+		}
+
+		// Flood fill from one neighbour until the others are found
+		generation++;
+		int head = 0;
+		int tail = 0;
+		visited[index] = generation;
+		visited[neighbours[0]] = generation;
+		queuedCells[tail++] = neighbours[0];
+		int found = 1;
+		while (head < tail) {
+			int current = queuedCells[head++];
+			for (int i = 1; i < neighbourCount; i++) {
+				if (current == neighbours[i] && ++found == neighbourCount) {
+					return true;
+				}
+			}
+			int currentX = current / VERTICAL_CELLS;
+			int currentY = current % VERTICAL_CELLS;
+			if (currentY > 0 && visited[current - 1] != generation && !blocked[current - 1]) {
+				visited[current - 1] = generation;
+				queuedCells[tail++] = current - 1;
+			}
+			if (currentY < VERTICAL_CELLS - 1 && visited[current + 1] != generation && !blocked[current + 1]) {
+				visited[current + 1] = generation;
+				queuedCells[tail++] = current + 1;
+			}
+			if (currentX > 0 && visited[current - VERTICAL_CELLS] != generation && !blocked[current - VERTICAL_CELLS]) {
+				visited[current - VERTICAL_CELLS] = generation;
+				queuedCells[tail++] = current - VERTICAL_CELLS;
+			}
+			if (currentX < HORIZONTAL_CELLS - 1 && visited[current + VERTICAL_CELLS] != generation && !blocked[current + VERTICAL_CELLS]) {
+				visited[current + VERTICAL_CELLS] = generation;
+				queuedCells[tail++] = current + VERTICAL_CELLS;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Get the grid the layout was made for
+	 *
+	 * @return Returns the JSON cells or null if the scene is generated manually
+	 */
+	public JsonCell[][] getJsonCells() {
+		return jsonCells;
+	}
+
+	/**
+	 * Get the settings of the match the layout was made for
+	 *
+	 * @return Returns the settings
+	 */
+	public GameSettings getSettings() {
+		return settings;
+	}
+
+	/**
+	 * Get the random numbers of the match the layout was made for
+	 *
+	 * @return Returns the random numbers
+	 */
+	public GameRandom getGameRandom() {
+		return gameRandom;
+	}
+
+	/**
+	 * Get the coordinates of the obstacles
+	 *
+	 * @return Returns a list of x and y coordinates
+	 */
+	public List<int[]> getObstacles() {
+		return obstacles;
+	}
+
+	/**
+	 * Get the coordinates of the enemies
+	 *
+	 * @return Returns a list of x and y coordinates
+	 */
+	public List<int[]> getEnemies() {
+		return enemies;
+	}
+
+	/**
+	 * Get the coordinates of the portal
+	 *
+	 * @return Returns the x and y coordinates
+	 */
+	public int[] getPortal() {
+		return portal;
+	}
+
+	/**
+	 * Get the coordinates of the keys
+	 *
+	 * @return Returns a list of x and y coordinates
+	 */
+	public List<int[]> getKeys() {
+		return keys;
+	}
+
+	/**
+	 * Get the coordinates of the chests
+	 *
+	 * @return Returns a list of x and y coordinates
+	 */
+	public List<int[]> getChests() {
+		return chests;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka;
+
+import cl.cromer.azaraka.json.Json;
+import cl.cromer.azaraka.json.JsonCell;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * This class keeps a few scene layouts ready in the background so that a new game can start without waiting for the
+ * scene to be loaded and laid out
+ */
+public class ScenePool implements Runnable, Constants {
+	/**
+	 * The logger
+	 */
+	private final Logger logger;
+	/**
+	 * The layouts that are ready to be used
+	 */
+	private final BlockingQueue<SceneLayout> layouts = new ArrayBlockingQueue<>(SCENE_POOL_SIZE);
+	/**
+	 * The thread that makes the layouts
+	 */
+	private Thread thread;
+
+	/**
+	 * Initialize the scene pool
+	 */
+	public ScenePool() {
+		logger = getLogger(this.getClass(), LogLevel.SCENE);
+	}
+
+	/**
+	 * Start making layouts in the background, nothing is made if the scene is generated manually
+	 */
+	public void start() {
+		if (GENERATE_SCENE) {
+			return;
+		}
+		thread = new Thread(this);
+		// Don't keep the game open or take time away from the game that is being played
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		thread.start();
+	}
+
+	/**
+	 * Take the next layout, waiting for it if the pool is empty
+	 *
+	 * @return Returns a layout or null if there are no layouts being made
+	 */
+	public SceneLayout take() {
+		SceneLayout layout = layouts.poll();
+		while (layout == null && thread != null && thread.isAlive()) {
+			try {
+				layout = layouts.poll(TICK_LENGTH, TimeUnit.MILLISECONDS);
+			}
+			catch (InterruptedException e) {
+				logger.info(e.getMessage());
+				return null;
+			}
+		}
+		return layout;
+	}
+
+	/**
+	 * Load the grid once and keep the pool full of layouts for it
+	 */
+	@Override
+	public void run() {
+		JsonCell[][] jsonCells = new Json().importScene();
+		if (jsonCells == null) {
+			logger.warning("Could not load the scene for the pool");
+			return;
+		}
+		while (!Thread.currentThread().isInterrupted()) {
+			try {
+				layouts.put(new SceneLayout(jsonCells, new GameSettings(), new GameRandom()));
+			}
+			catch (InterruptedException e) {
+				logger.info(e.getMessage());
+				return;
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -15,12 +15,15 @@
 
 package cl.cromer.azaraka.ai;
 
+import cl.cromer.azaraka.Constants;
+import cl.cromer.azaraka.Updatable;
+
 import java.util.logging.Logger;
 
 /**
  * AI algorithms extends this class
  */
-public class AI implements Runnable {
+public class AI implements Updatable, Constants {
 	/**
 	 * The logger
 	 */
@@ -29,6 +32,10 @@ public class AI implements Runnable {
 	 * Whether or not the AI is active
 	 */
 	private boolean active = true;
+	/**
+	 * The heuristic used in the distance calculations
+	 */
+	private AIHeuristic heuristic = AI_HEURISTIC;
 
 	/**
 	 * Get the active state of the AI
@@ -42,12 +49,30 @@ public class AI implements Runnable {
 	/**
 	 * Set the active state for the AI loop
 	 *
-	 * @param active Set to true to have the run method loop run indefinitely or false to stop the loop
+	 * @param active Set to true to have the AI keep updating or false to stop it
 	 */
 	public void setActive(boolean active) {
 		this.active = active;
 	}
 
+	/**
+	 * Get the heuristic used in the distance calculations
+	 *
+	 * @return Returns the heuristic
+	 */
+	public AIHeuristic getHeuristic() {
+		return heuristic;
+	}
+
+	/**
+	 * Set the heuristic to use in the distance calculations
+	 *
+	 * @param heuristic The heuristic
+	 */
+	public void setHeuristic(AIHeuristic heuristic) {
+		this.heuristic = heuristic;
+	}
+
 	/**
 	 * Get the logger being used by the AI
 	 *
@@ -88,10 +113,53 @@ public class AI implements Runnable {
 	}
 
 	/**
-	 * The AI should run in a loop
+	 * Get the index of a cell in the search arrays
+	 *
+	 * @param x The x coordinate of the cell
+	 * @param y The y coordinate of the cell
+	 * @return Returns the index
+	 */
+	protected static int getIndex(int x, int y) {
+		return x * VERTICAL_CELLS + y;
+	}
+
+	/**
+	 * Get the direction to move from one cell to a neighbouring cell
+	 *
+	 * @param from The index of the cell being left
+	 * @param to   The index of the cell being entered
+	 * @return Returns the direction
+	 */
+	protected static State.Type getDirection(int from, int to) {
+		if (from == to + VERTICAL_CELLS) {
+			return State.Type.LEFT;
+		}
+		else if (from == to - VERTICAL_CELLS) {
+			return State.Type.RIGHT;
+		}
+		else if (from == to + 1) {
+			return State.Type.UP;
+		}
+		else {
+			return State.Type.DOWN;
+		}
+	}
+
+	/**
+	 * Get the number of ticks between updates of the AI
+	 *
+	 * @return Returns the number of ticks, 0 if the AI is never updated
+	 */
+	@Override
+	public int getUpdateTicks() {
+		return 0;
+	}
+
+	/**
+	 * The AI is updated by the game loop
 	 */
 	@Override
-	public void run() {
+	public void update() {
 
 	}
 }
@@ -0,0 +1,352 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka.ai;
+
+import cl.cromer.azaraka.Constants;
+import cl.cromer.azaraka.Scene;
+import cl.cromer.azaraka.object.Object;
+import cl.cromer.azaraka.object.Player;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This is an implementation of the D* Lite algorithm for one goal, the search tree is kept between plans so only the
+ * cells whose cost changed have to be repaired when the player moves or the enemies move
+ */
+public class DStarLite implements Constants {
+	/**
+	 * The cost used for cells that can't reach the goal
+	 */
+	private static final int INFINITY = Integer.MAX_VALUE / 2;
+	/**
+	 * The scene the planner is in
+	 */
+	private final Scene scene;
+	/**
+	 * The player AI, used for the heuristic
+	 */
+	private final PlayerAI playerAI;
+	/**
+	 * The index of the goal cell
+	 */
+	private final int goal;
+	/**
+	 * The cost from each cell to the goal as of the last time the cell was expanded
+	 */
+	private final int[] g = new int[HORIZONTAL_CELLS * VERTICAL_CELLS];
+	/**
+	 * The cost from each cell to the goal looking one step ahead
+	 */
+	private final int[] rhs = new int[HORIZONTAL_CELLS * VERTICAL_CELLS];
+	/**
+	 * The cells that are inconsistent and need to be expanded
+	 */
+	private final IndexedHeap open = new IndexedHeap(HORIZONTAL_CELLS * VERTICAL_CELLS);
+	/**
+	 * The cells that changed since the last plan
+	 */
+	private final int[] changedCells = new int[HORIZONTAL_CELLS * VERTICAL_CELLS];
+	/**
+	 * Whether or not each cell is in the changed cells
+	 */
+	private final boolean[] changed = new boolean[HORIZONTAL_CELLS * VERTICAL_CELLS];
+	/**
+	 * The number of changed cells
+	 */
+	private int changedCount = 0;
+	/**
+	 * The index of the cell the player is in, -1 if the planner has not been used yet
+	 */
+	private int start = -1;
+	/**
+	 * How much the heuristic has changed because the player moved
+	 */
+	private double keyModifier = 0;
+
+	/**
+	 * Initialize the planner
+	 *
+	 * @param scene    The scene the planner is in
+	 * @param playerAI The player AI, used for the heuristic
+	 * @param goalX    The x coordinate of the goal
+	 * @param goalY    The y coordinate of the goal
+	 */
+	public DStarLite(Scene scene, PlayerAI playerAI, int goalX, int goalY) {
+		this.scene = scene;
+		this.playerAI = playerAI;
+		goal = goalX * VERTICAL_CELLS + goalY;
+	}
+
+	/**
+	 * The cost of a cell changed, it will be repaired on the next plan
+	 *
+	 * @param x The x coordinate of the cell
+	 * @param y The y coordinate of the cell
+	 */
+	public void cellCostChanged(int x, int y) {
+		int index = x * VERTICAL_CELLS + y;
+		if (!changed[index]) {
+			changed[index] = true;
+			changedCells[changedCount++] = index;
+		}
+	}
+
+	/**
+	 * Find the route from the player to the goal
+	 *
+	 * @param x     The x coordinate of the player
+	 * @param y     The y coordinate of the player
+	 * @param steps The list to add the steps to follow to
+	 * @return Returns true if the goal can be reached or false otherwise
+	 */
+	public boolean plan(int x, int y, List<State.Type> steps) {
+		int newStart = x * VERTICAL_CELLS + y;
+		if (start == -1) {
+			Arrays.fill(g, INFINITY);
+			Arrays.fill(rhs, INFINITY);
+			start = newStart;
+			rhs[goal] = 0;
+			push(goal);
+		}
+		else if (newStart != start) {
+			keyModifier += playerAI.heuristic(start / VERTICAL_CELLS, start % VERTICAL_CELLS, x, y);
+			start = newStart;
+		}
+
+		for (int i = 0; i < changedCount; i++) {
+			int cell = changedCells[i];
+			changed[cell] = false;
+			updateVertex(cell);
+			updateNeighbours(cell);
+		}
+		changedCount = 0;
+
+		computeShortestPath();
+
+		if (rhs[start] >= INFINITY) {
+			return false;
+		}
+		calculateRoute(steps);
+		return true;
+	}
+
+	/**
+	 * Expand the inconsistent cells until the route from the player is known
+	 */
+	private void computeShortestPath() {
+		while (!open.isEmpty()) {
+			int u = open.peek();
+			double oldKey = open.getPriority(u);
+			double oldSecondKey = open.getSecondPriority(u);
+			if (!isLower(oldKey, oldSecondKey, getKey(start), getSecondKey(start)) && rhs[start] == g[start]) {
+				break;
+			}
+
+			double newKey = getKey(u);
+			double newSecondKey = getSecondKey(u);
+			if (isLower(oldKey, oldSecondKey, newKey, newSecondKey)) {
+				open.push(u, newKey, newSecondKey);
+			}
+			else if (g[u] > rhs[u]) {
+				g[u] = rhs[u];
+				open.pop();
+				updateNeighbours(u);
+			}
+			else {
+				g[u] = INFINITY;
+				updateVertex(u);
+				updateNeighbours(u);
+			}
+		}
+	}
+
+	/**
+	 * Calculate the route by following the cheapest neighbours from the player to the goal
+	 *
+	 * @param steps The list to add the steps to follow to
+	 */
+	private void calculateRoute(List<State.Type> steps) {
+		steps.add(State.Type.PLAYER);
+		int current = start;
+		int limit = HORIZONTAL_CELLS * VERTICAL_CELLS;
+		while (current != goal && limit-- > 0) {
+			int x = current / VERTICAL_CELLS;
+			int y = current % VERTICAL_CELLS;
+			int next = -1;
+			int best = INFINITY;
+			if (y > 0 && !isBlocked(x, y - 1) && g[current - 1] < best) {
+				best = g[current - 1];
+				next = current - 1;
+			}
+			if (y < VERTICAL_CELLS - 1 && !isBlocked(x, y + 1) && g[current + 1] < best) {
+				best = g[current + 1];
+				next = current + 1;
+			}
+			if (x > 0 && !isBlocked(x - 1, y) && g[current - VERTICAL_CELLS] < best) {
+				best = g[current - VERTICAL_CELLS];
+				next = current - VERTICAL_CELLS;
+			}
+			if (x < HORIZONTAL_CELLS - 1 && !isBlocked(x + 1, y) && g[current + VERTICAL_CELLS] < best) {
+				next = current + VERTICAL_CELLS;
+			}
+			if (next == -1) {
+				break;
+			}
+			if (next == current + VERTICAL_CELLS) {
+				steps.add(State.Type.RIGHT);
+			}
+			else if (next == current - VERTICAL_CELLS) {
+				steps.add(State.Type.LEFT);
+			}
+			else if (next == current + 1) {
+				steps.add(State.Type.DOWN);
+			}
+			else {
+				steps.add(State.Type.UP);
+			}
+			current = next;
+		}
+	}
+
+	/**
+	 * Calculate the look ahead cost of a cell and queue it if it is inconsistent
+	 *
+	 * @param u The index of the cell
+	 */
+	private void updateVertex(int u) {
+		if (u != goal) {
+			rhs[u] = getLookAhead(u);
+		}
+		if (g[u] != rhs[u]) {
+			push(u);
+		}
+		else {
+			open.remove(u);
+		}
+	}
+
+	/**
+	 * Update the cells next to a cell
+	 *
+	 * @param u The index of the cell
+	 */
+	private void updateNeighbours(int u) {
+		int x = u / VERTICAL_CELLS;
+		int y = u % VERTICAL_CELLS;
+		if (y > 0) {
+			updateVertex(u - 1);
+		}
+		if (y < VERTICAL_CELLS - 1) {
+			updateVertex(u + 1);
+		}
+		if (x > 0) {
+			updateVertex(u - VERTICAL_CELLS);
+		}
+		if (x < HORIZONTAL_CELLS - 1) {
+			updateVertex(u + VERTICAL_CELLS);
+		}
+	}
+
+	/**
+	 * Get the cheapest cost to the goal through the neighbours of a cell
+	 *
+	 * @param u The index of the cell
+	 * @return Returns the cost
+	 */
+	private int getLookAhead(int u) {
+		int x = u / VERTICAL_CELLS;
+		int y = u % VERTICAL_CELLS;
+		if (isBlocked(x, y)) {
+			return INFINITY;
+		}
+		int best = INFINITY;
+		if (y > 0 && !isBlocked(x, y - 1)) {
+			best = Math.min(best, g[u - 1]);
+		}
+		if (y < VERTICAL_CELLS - 1 && !isBlocked(x, y + 1)) {
+			best = Math.min(best, g[u + 1]);
+		}
+		if (x > 0 && !isBlocked(x - 1, y)) {
+			best = Math.min(best, g[u - VERTICAL_CELLS]);
+		}
+		if (x < HORIZONTAL_CELLS - 1 && !isBlocked(x + 1, y)) {
+			best = Math.min(best, g[u + VERTICAL_CELLS]);
+		}
+		if (best >= INFINITY) {
+			return INFINITY;
+		}
+		// The cost of a move is the cost of the cell being left, the same as A*
+		return best + scene.getEnemyInfluence().getCost(x, y);
+	}
+
+	/**
+	 * Check if a cell can't be walked through
+	 *
+	 * @param x The x coordinate of the cell
+	 * @param y The y coordinate of the cell
+	 * @return Returns true if something other than the player is in the cell
+	 */
+	private boolean isBlocked(int x, int y) {
+		Object object = scene.getCell(x, y).getObject();
+		return object != null && !(object instanceof Player);
+	}
+
+	/**
+	 * Add a cell to the open list or change its key if it is already there
+	 *
+	 * @param u The index of the cell
+	 */
+	private void push(int u) {
+		open.push(u, getKey(u), getSecondKey(u));
+	}
+
+	/**
+	 * Get the first part of the key of a cell
+	 *
+	 * @param u The index of the cell
+	 * @return Returns the key
+	 */
+	private double getKey(int u) {
+		return Math.min(g[u], rhs[u]) + playerAI.heuristic(start / VERTICAL_CELLS, start % VERTICAL_CELLS, u / VERTICAL_CELLS, u % VERTICAL_CELLS) + keyModifier;
+	}
+
+	/**
+	 * Get the second part of the key of a cell, used when the first parts are the same
+	 *
+	 * @param u The index of the cell
+	 * @return Returns the key
+	 */
+	private double getSecondKey(int u) {
+		return Math.min(g[u], rhs[u]);
+	}
+
+	/**
+	 * Compare 2 keys
+	 *
+	 * @param key1       The first part of the first key
+	 * @param secondKey1 The second part of the first key
+	 * @param key2       The first part of the second key
+	 * @param secondKey2 The second part of the second key
+	 * @return Returns true if the first key is lower than the second key
+	 */
+	private boolean isLower(double key1, double secondKey1, double key2, double secondKey2) {
+		if (key1 != key2) {
+			return key1 < key2;
+		}
+		return secondKey1 < secondKey2;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka.ai;
+
+import cl.cromer.azaraka.Constants;
+import cl.cromer.azaraka.Scene;
+import cl.cromer.azaraka.object.Enemy;
+import cl.cromer.azaraka.object.Object;
+import cl.cromer.azaraka.object.Player;
+
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * This class holds the distance from every cell to a target, it is shared by all the enemies so that only one search
+ * is done to chase the player no matter how many enemies there are
+ */
+public class FlowField implements Constants {
+	/**
+	 * The distance used for cells that can't reach the target
+	 */
+	private static final int UNREACHABLE = Integer.MAX_VALUE;
+	/**
+	 * The scene the flow field is in
+	 */
+	private final Scene scene;
+	/**
+	 * The logger
+	 */
+	private final Logger logger;
+	/**
+	 * The distance from each cell to the target
+	 */
+	private final int[] distance = new int[HORIZONTAL_CELLS * VERTICAL_CELLS];
+	/**
+	 * The queued cells to check, every cell is queued at most once so the queue never needs to wrap
+	 */
+	private final int[] queuedCells = new int[HORIZONTAL_CELLS * VERTICAL_CELLS];
+	/**
+	 * The index of the target cell the distances were calculated for, -1 if they need to be calculated again
+	 */
+	private int target = -1;
+
+	/**
+	 * Initialize the flow field
+	 *
+	 * @param scene The scene the flow field is in
+	 */
+	public FlowField(Scene scene) {
+		logger = getLogger(this.getClass(), LogLevel.AI);
+		this.scene = scene;
+	}
+
+	/**
+	 * Make sure the distances are calculated for the target, nothing is done if the target hasn't moved and the
+	 * obstacles haven't changed
+	 *
+	 * @param x The x coordinate of the target
+	 * @param y The y coordinate of the target
+	 */
+	public void update(int x, int y) {
+		int index = x * VERTICAL_CELLS + y;
+		if (index == target) {
+			return;
+		}
+		logger.info("Calculate the flow field to x: " + x + " y: " + y);
+		target = index;
+
+		Arrays.fill(distance, UNREACHABLE);
+		int head = 0;
+		int tail = 0;
+		distance[index] = 0;
+		queuedCells[tail++] = index;
+
+		while (head < tail) {
+			int current = queuedCells[head++];
+			int currentX = current / VERTICAL_CELLS;
+			int currentY = current % VERTICAL_CELLS;
+			int nextDistance = distance[current] + 1;
+
+			// Up
+			if (currentY > 0) {
+				tail = visit(currentX, currentY - 1, nextDistance, tail);
+			}
+			// Down
+			if (currentY < VERTICAL_CELLS - 1) {
+				tail = visit(currentX, currentY + 1, nextDistance, tail);
+			}
+			// Left
+			if (currentX > 0) {
+				tail = visit(currentX - 1, currentY, nextDistance, tail);
+			}
+			// Right
+			if (currentX < HORIZONTAL_CELLS - 1) {
+				tail = visit(currentX + 1, currentY, nextDistance, tail);
+			}
+		}
+	}
+
+	/**
+	 * Set the distance of a cell and queue it if it hasn't been reached yet and something can walk through it
+	 *
+	 * @param x            The x coordinate of the cell
+	 * @param y            The y coordinate of the cell
+	 * @param cellDistance The distance from the cell to the target
+	 * @param tail         The position where the next cell will be added to the queue
+	 * @return Returns the new tail of the queue
+	 */
+	private int visit(int x, int y, int cellDistance, int tail) {
+		int index = x * VERTICAL_CELLS + y;
+		if (distance[index] != UNREACHABLE) {
+			return tail;
+		}
+		// Enemies move, so they don't block the field, they are avoided when the next step is chosen instead
+		Object object = scene.getCell(x, y).getObject();
+		if (object == null || object instanceof Enemy || object instanceof Player) {
+			distance[index] = cellDistance;
+			queuedCells[tail++] = index;
+		}
+		return tail;
+	}
+
+	/**
+	 * The obstacles changed, the distances will be calculated again on the next update
+	 */
+	public void invalidate() {
+		target = -1;
+	}
+
+	/**
+	 * Get the distance from a cell to the target
+	 *
+	 * @param x The x coordinate of the cell
+	 * @param y The y coordinate of the cell
+	 * @return Returns the distance or -1 if the target can't be reached from the cell
+	 */
+	public int getDistance(int x, int y) {
+		int cellDistance = distance[x * VERTICAL_CELLS + y];
+		return (cellDistance == UNREACHABLE) ? -1 : cellDistance;
+	}
+
+	/**
+	 * Get the direction to move from a cell to get closer to the target, cells that are blocked are skipped
+	 *
+	 * @param x The x coordinate of the cell
+	 * @param y The y coordinate of the cell
+	 * @return Returns the direction to move or null if there is no free cell that leads to the target
+	 */
+	public State.Type getNextStep(int x, int y) {
+		State.Type step = null;
+		int best = UNREACHABLE;
+
+		if (y > 0 && isFree(x, y - 1) && distance[x * VERTICAL_CELLS + y - 1] < best) {
+			best = distance[x * VERTICAL_CELLS + y - 1];
+			step = State.Type.UP;
+		}
+		if (y < VERTICAL_CELLS - 1 && isFree(x, y + 1) && distance[x * VERTICAL_CELLS + y + 1] < best) {
+			best = distance[x * VERTICAL_CELLS + y + 1];
+			step = State.Type.DOWN;
+		}
+		if (x > 0 && isFree(x - 1, y) && distance[(x - 1) * VERTICAL_CELLS + y] < best) {
+			best = distance[(x - 1) * VERTICAL_CELLS + y];
+			step = State.Type.LEFT;
+		}
+		if (x < HORIZONTAL_CELLS - 1 && isFree(x + 1, y) && distance[(x + 1) * VERTICAL_CELLS + y] < best) {
+			step = State.Type.RIGHT;
+		}
+		return step;
+	}
+
+	/**
+	 * Check if a cell can be entered right now
+	 *
+	 * @param x The x coordinate of the cell
+	 * @param y The y coordinate of the cell
+	 * @return Returns true if the cell is empty or has the player in it
+	 */
+	private boolean isFree(int x, int y) {
+		Object object = scene.getCell(x, y).getObject();
+		return object == null || object instanceof Player;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka.ai;
+
+import java.util.Arrays;
+
+/**
+ * A binary min heap of cell indices with a priority for each index, an index can only be in the heap once and its
+ * priority can be changed while it is in the heap, indices with the same priority are ordered by a second priority
+ */
+public class IndexedHeap {
+	/**
+	 * The indices in heap order
+	 */
+	private final int[] heap;
+	/**
+	 * The position of each index in the heap, -1 if it is not in the heap
+	 */
+	private final int[] position;
+	/**
+	 * The priority of each index
+	 */
+	private final double[] priority;
+	/**
+	 * The second priority of each index, used when the priorities are the same
+	 */
+	private final double[] secondPriority;
+	/**
+	 * The number of indices in the heap
+	 */
+	private int size = 0;
+
+	/**
+	 * Initialize the heap
+	 *
+	 * @param capacity The number of indices that can be stored, indices go from 0 to capacity - 1
+	 */
+	public IndexedHeap(int capacity) {
+		heap = new int[capacity];
+		position = new int[capacity];
+		priority = new double[capacity];
+		secondPriority = new double[capacity];
+		Arrays.fill(position, -1);
+	}
+
+	/**
+	 * Check if the heap is empty
+	 *
+	 * @return Returns true if there are no indices in the heap
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Check if an index is in the heap
+	 *
+	 * @param index The index to check
+	 * @return Returns true if the index is in the heap
+	 */
+	public boolean contains(int index) {
+		return position[index] != -1;
+	}
+
+	/**
+	 * Get the priority of an index in the heap
+	 *
+	 * @param index The index
+	 * @return Returns the priority
+	 */
+	public double getPriority(int index) {
+		return priority[index];
+	}
+
+	/**
+	 * Get the second priority of an index in the heap
+	 *
+	 * @param index The index
+	 * @return Returns the second priority
+	 */
+	public double getSecondPriority(int index) {
+		return secondPriority[index];
+	}
+
+	/**
+	 * Get the index with the lowest priority without removing it
+	 *
+	 * @return Returns the index
+	 */
+	public int peek() {
+		return heap[0];
+	}
+
+	/**
+	 * Add an index to the heap, if it is already in the heap its priority is changed instead
+	 *
+	 * @param index The index to add
+	 * @param value The priority of the index
+	 */
+	public void push(int index, double value) {
+		push(index, value, 0);
+	}
+
+	/**
+	 * Add an index to the heap, if it is already in the heap its priorities are changed instead
+	 *
+	 * @param index       The index to add
+	 * @param value       The priority of the index
+	 * @param secondValue The second priority of the index, used when the priorities are the same
+	 */
+	public void push(int index, double value, double secondValue) {
+		if (position[index] == -1) {
+			heap[size] = index;
+			position[index] = size;
+			priority[index] = value;
+			secondPriority[index] = secondValue;
+			siftUp(size++);
+		}
+		else {
+			priority[index] = value;
+			secondPriority[index] = secondValue;
+			siftUp(position[index]);
+			siftDown(position[index]);
+		}
+	}
+
+	/**
+	 * Remove the index with the lowest priority
+	 *
+	 * @return Returns the index
+	 */
+	public int pop() {
+		int index = heap[0];
+		position[index] = -1;
+		size--;
+		if (size > 0) {
+			heap[0] = heap[size];
+			position[heap[0]] = 0;
+			siftDown(0);
+		}
+		return index;
+	}
+
+	/**
+	 * Remove an index from the heap if it is there
+	 *
+	 * @param index The index to remove
+	 */
+	public void remove(int index) {
+		int i = position[index];
+		if (i == -1) {
+			return;
+		}
+		position[index] = -1;
+		size--;
+		if (i < size) {
+			int moved = heap[size];
+			heap[i] = moved;
+			position[moved] = i;
+			siftUp(i);
+			siftDown(position[moved]);
+		}
+	}
+
+	/**
+	 * Remove all the indices from the heap
+	 */
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			position[heap[i]] = -1;
+		}
+		size = 0;
+	}
+
+	/**
+	 * Check if an index should be closer to the top of the heap than another
+	 *
+	 * @param a The first index
+	 * @param b The second index
+	 * @return Returns true if the first index has a lower priority
+	 */
+	private boolean less(int a, int b) {
+		if (priority[a] != priority[b]) {
+			return priority[a] < priority[b];
+		}
+		return secondPriority[a] < secondPriority[b];
+	}
+
+	/**
+	 * Move the index at the given heap position up until the heap is in order
+	 *
+	 * @param i The position in the heap
+	 */
+	private void siftUp(int i) {
+		int index = heap[i];
+		while (i > 0) {
+			int parent = (i - 1) >> 1;
+			if (!less(index, heap[parent])) {
+				break;
+			}
+			heap[i] = heap[parent];
+			position[heap[i]] = i;
+			i = parent;
+		}
+		heap[i] = index;
+		position[index] = i;
+	}
+
+	/**
+	 * Move the index at the given heap position down until the heap is in order
+	 *
+	 * @param i The position in the heap
+	 */
+	private void siftDown(int i) {
+		int index = heap[i];
+		int half = size >> 1;
+		while (i < half) {
+			int child = (i << 1) + 1;
+			int right = child + 1;
+			if (right < size && less(heap[right], heap[child])) {
+				child = right;
+			}
+			if (!less(heap[child], index)) {
+				break;
+			}
+			heap[i] = heap[child];
+			position[heap[i]] = i;
+			i = child;
+		}
+		heap[i] = index;
+		position[index] = i;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka.ai;
+
+import cl.cromer.azaraka.Constants;
+
+import java.util.Arrays;
+
+/**
+ * This class keeps the danger of every cell based on how close it is to the enemies, it is updated when an enemy
+ * moves so that the cost of a cell can be read without looking at the cells around it
+ */
+public class InfluenceMap implements Constants {
+	/**
+	 * The cost of a cell that no enemy is close to
+	 */
+	private static final int BASE_COST = 1;
+	/**
+	 * The cost of each ring of cells around an enemy, the first is the cell of the enemy
+	 */
+	private final int[] weights;
+	/**
+	 * The number of enemies that have each cell in each ring
+	 */
+	private final int[][] counts;
+	/**
+	 * The cost of each cell
+	 */
+	private final int[] cost = new int[HORIZONTAL_CELLS * VERTICAL_CELLS];
+	/**
+	 * The listener to tell when the cost of a cell changes or an enemy enters or leaves it
+	 */
+	private final CellCostListener listener;
+
+	/**
+	 * Initialize the influence map
+	 *
+	 * @param weights  The cost of each ring of cells around an enemy, the first is the cell of the enemy
+	 * @param listener The listener to tell when the cost of a cell changes or an enemy enters or leaves it
+	 */
+	public InfluenceMap(int[] weights, CellCostListener listener) {
+		this.weights = weights;
+		this.listener = listener;
+		counts = new int[weights.length][HORIZONTAL_CELLS * VERTICAL_CELLS];
+		Arrays.fill(cost, BASE_COST);
+	}
+
+	/**
+	 * Add an enemy to the map
+	 *
+	 * @param x The x coordinate of the enemy
+	 * @param y The y coordinate of the enemy
+	 */
+	public void addEnemy(int x, int y) {
+		stamp(x, y, 1);
+	}
+
+	/**
+	 * Remove an enemy from the map
+	 *
+	 * @param x The x coordinate of the enemy
+	 * @param y The y coordinate of the enemy
+	 */
+	public void removeEnemy(int x, int y) {
+		stamp(x, y, -1);
+	}
+
+	/**
+	 * Move an enemy from one cell to another
+	 *
+	 * @param fromX The x coordinate the enemy left
+	 * @param fromY The y coordinate the enemy left
+	 * @param toX   The x coordinate the enemy moved to
+	 * @param toY   The y coordinate the enemy moved to
+	 */
+	public void moveEnemy(int fromX, int fromY, int toX, int toY) {
+		stamp(fromX, fromY, -1);
+		stamp(toX, toY, 1);
+	}
+
+	/**
+	 * Get the cost of moving through a cell
+	 *
+	 * @param x The x coordinate of the cell
+	 * @param y The y coordinate of the cell
+	 * @return Returns the cost
+	 */
+	public int getCost(int x, int y) {
+		return cost[x * VERTICAL_CELLS + y];
+	}
+
+	/**
+	 * Add or remove the influence of an enemy on the cells around it
+	 *
+	 * @param x     The x coordinate of the enemy
+	 * @param y     The y coordinate of the enemy
+	 * @param delta 1 to add the enemy or -1 to remove it
+	 */
+	private void stamp(int x, int y, int delta) {
+		int radius = weights.length - 1;
+		for (int i = Math.max(0, x - radius); i <= Math.min(HORIZONTAL_CELLS - 1, x + radius); i++) {
+			for (int j = Math.max(0, y - radius); j <= Math.min(VERTICAL_CELLS - 1, y + radius); j++) {
+				int index = i * VERTICAL_CELLS + j;
+				int ring = Math.max(Math.abs(i - x), Math.abs(j - y));
+				counts[ring][index] += delta;
+
+				int cellCost = BASE_COST;
+				for (int k = 0; k < weights.length; k++) {
+					if (counts[k][index] > 0) {
+						cellCost = Math.max(cellCost, weights[k]);
+					}
+				}
+				if (cost[index] != cellCost || ring == 0) {
+					// The enemy's own cell is always changed because it was entered or left
+					cost[index] = cellCost;
+					listener.cellCostChanged(i, j);
+				}
+			}
+		}
+	}
+}
\ No newline at end of file
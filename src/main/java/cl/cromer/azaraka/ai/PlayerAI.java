@@ -19,6 +19,7 @@ import cl.cromer.azaraka.Constants;
 import cl.cromer.azaraka.Scene;
 import cl.cromer.azaraka.object.Player;
 import cl.cromer.azaraka.object.Portal;
+import cl.cromer.azaraka.replay.ReplayEvent;
 import cl.cromer.azaraka.sprite.Animation;
 
 import java.awt.event.KeyEvent;
@@ -29,7 +30,7 @@ import java.util.List;
 /**
  * This interface has Player specific AI code that is shared between AI implementations
  */
-public interface PlayerAI extends Runnable, Constants {
+public interface PlayerAI extends Constants {
 	/**
 	 * Search for the goal from a starting state
 	 *
@@ -51,6 +52,13 @@ public interface PlayerAI extends Runnable, Constants {
 	 */
 	void sortDestinations();
 
+	/**
+	 * Get the heuristic used in the distance calculations
+	 *
+	 * @return Returns the heuristic
+	 */
+	AIHeuristic getHeuristic();
+
 	/**
 	 * The heuristic to get the distance between the start state and the end state
 	 *
@@ -74,14 +82,27 @@ public interface PlayerAI extends Runnable, Constants {
 	 * @return Returns the distance between the states
 	 */
 	default double heuristic(State start, State goal) {
-		switch (AI_HEURISTIC) {
+		return heuristic(start.getX(), start.getY(), goal.getX(), goal.getY());
+	}
+
+	/**
+	 * The heuristic to get the distance between 2 cells without needing states
+	 *
+	 * @param startX The x coordinate of the start cell
+	 * @param startY The y coordinate of the start cell
+	 * @param goalX  The x coordinate of the goal cell
+	 * @param goalY  The y coordinate of the goal cell
+	 * @return Returns the distance between the cells
+	 */
+	default double heuristic(int startX, int startY, int goalX, int goalY) {
+		switch (getHeuristic()) {
 			case DIAGONAL:
-				return Math.max(Math.abs(start.getX() - goal.getX()), Math.abs(start.getY() - goal.getY()));
+				return Math.max(Math.abs(startX - goalX), Math.abs(startY - goalY));
 			case EUCLIDEAN:
-				return Point2D.distance(start.getX(), start.getY(), goal.getX(), goal.getY());
+				return Point2D.distance(startX, startY, goalX, goalY);
 			case MANHATTAN:
 			default:
-				return Math.abs(start.getX() - goal.getX()) + Math.abs(start.getY() - goal.getY());
+				return Math.abs(startX - goalX) + Math.abs(startY - goalY);
 		}
 	}
 
@@ -116,7 +137,7 @@ public interface PlayerAI extends Runnable, Constants {
 					return 0;
 				}
 
-				//scene.getCanvas().getEnemies();
+				//scene.getGame().getEnemies();
 			}
 		});
 		return destinations;
@@ -130,19 +151,19 @@ public interface PlayerAI extends Runnable, Constants {
 	 * @return Returns true if the goal is in a certain state or false if the goal is not truly reachable or usable
 	 */
 	default boolean destinationArrived(Scene scene, State goal) {
-		Player player = scene.getCanvas().getPlayer();
+		Player player = scene.getGame().getPlayer();
 		switch (goal.getOperation()) {
 			case CHEST:
 				if (player.hasKey()) {
 					if (player.getAnimation().getCurrentDirection() != Animation.Direction.UP) {
-						player.keyPressed(KeyEvent.VK_UP);
+						pressKey(scene, KeyEvent.VK_UP);
 					}
 					boolean portalWasActive = false;
-					Portal portal = scene.getCanvas().getPortal();
+					Portal portal = scene.getGame().getPortal();
 					if (portal.getState() == Portal.State.ACTIVE) {
 						portalWasActive = true;
 					}
-					player.interact();
+					interact(scene);
 					if (!portalWasActive) {
 						addDestination(new State(portal.getCell().getX(), portal.getCell().getY(), State.Type.PORTAL, null, 3));
 					}
@@ -151,13 +172,13 @@ public interface PlayerAI extends Runnable, Constants {
 				}
 				break;
 			case EXIT:
-				player.keyPressed(KeyEvent.VK_UP);
+				pressKey(scene, KeyEvent.VK_UP);
 				return true;
 			case KEY:
 				sortDestinations();
 				return true;
 			case PORTAL:
-				if (player.hasTaintedGem() && scene.getCanvas().getPortal().getState() == Portal.State.ACTIVE) {
+				if (player.hasTaintedGem() && scene.getGame().getPortal().getState() == Portal.State.ACTIVE) {
 					sortDestinations();
 					return true;
 				}
@@ -174,7 +195,7 @@ public interface PlayerAI extends Runnable, Constants {
 	 * @return Returns true if the goal is obtainable or false otherwise
 	 */
 	default boolean checkCondition(Scene scene, State goal) {
-		Player player = scene.getCanvas().getPlayer();
+		Player player = scene.getGame().getPlayer();
 		switch (goal.getOperation()) {
 			case KEY:
 				// If the player doesn't have the gems yet, get keys
@@ -190,7 +211,7 @@ public interface PlayerAI extends Runnable, Constants {
 				break;
 			case PORTAL:
 				// If the portal is active head towards it
-				if (player.hasTaintedGem() && scene.getCanvas().getPortal().getState() == Portal.State.ACTIVE) {
+				if (player.hasTaintedGem() && scene.getGame().getPortal().getState() == Portal.State.ACTIVE) {
 					return true;
 				}
 				break;
@@ -211,18 +232,18 @@ public interface PlayerAI extends Runnable, Constants {
 	 * @return Returns a random direction to go
 	 */
 	default State.Type getOpenSpaceAroundPlayer(Scene scene) {
-		Player player = scene.getCanvas().getPlayer();
+		Player player = scene.getGame().getPlayer();
 		List<State.Type> openSpaces = new ArrayList<>();
-		if (player.getCell().getX() > 0 && scene.getCells().get(player.getCell().getX() - 1).get(player.getCell().getY()).getObject() == null) {
+		if (player.getCell().getX() > 0 && !scene.getGrid().isBlocked(player.getCell().getX() - 1, player.getCell().getY())) {
 			openSpaces.add(State.Type.LEFT);
 		}
-		if (player.getCell().getX() < HORIZONTAL_CELLS - 1 && scene.getCells().get(player.getCell().getX() + 1).get(player.getCell().getY()).getObject() == null) {
+		if (player.getCell().getX() < HORIZONTAL_CELLS - 1 && !scene.getGrid().isBlocked(player.getCell().getX() + 1, player.getCell().getY())) {
 			openSpaces.add(State.Type.RIGHT);
 		}
-		if (player.getCell().getY() > 0 && scene.getCells().get(player.getCell().getX()).get(player.getCell().getY() - 1).getObject() == null) {
+		if (player.getCell().getY() > 0 && !scene.getGrid().isBlocked(player.getCell().getX(), player.getCell().getY() - 1)) {
 			openSpaces.add(State.Type.UP);
 		}
-		if (player.getCell().getY() < VERTICAL_CELLS - 1 && scene.getCells().get(player.getCell().getX()).get(player.getCell().getY() + 1).getObject() == null) {
+		if (player.getCell().getY() < VERTICAL_CELLS - 1 && !scene.getGrid().isBlocked(player.getCell().getX(), player.getCell().getY() + 1)) {
 			openSpaces.add(State.Type.DOWN);
 		}
 
@@ -231,7 +252,7 @@ public interface PlayerAI extends Runnable, Constants {
 			return State.Type.EXIT;
 		}
 
-		int random = random(0, openSpaces.size() - 1);
+		int random = scene.getGame().getGameRandom().aiRandom(0, openSpaces.size() - 1);
 		return openSpaces.get(random);
 	}
 
@@ -242,23 +263,42 @@ public interface PlayerAI extends Runnable, Constants {
 	 * @param steps The steps to follow
 	 */
 	default void doAction(Scene scene, List<State.Type> steps) {
-		Player player = scene.getCanvas().getPlayer();
 		if (steps.size() > 1) {
 			switch (steps.get(1)) {
 				case UP:
-					player.keyPressed(KeyEvent.VK_UP);
+					pressKey(scene, KeyEvent.VK_UP);
 					break;
 				case DOWN:
-					player.keyPressed(KeyEvent.VK_DOWN);
+					pressKey(scene, KeyEvent.VK_DOWN);
 					break;
 				case LEFT:
-					player.keyPressed(KeyEvent.VK_LEFT);
+					pressKey(scene, KeyEvent.VK_LEFT);
 					break;
 				case RIGHT:
-					player.keyPressed(KeyEvent.VK_RIGHT);
+					pressKey(scene, KeyEvent.VK_RIGHT);
 					break;
 			}
-			scene.getCanvas().repaint();
 		}
 	}
-}
+
+	/**
+	 * Press a key for the player, the key is recorded in the replay of the game
+	 *
+	 * @param scene   The scene
+	 * @param keyCode The key code to press
+	 */
+	default void pressKey(Scene scene, int keyCode) {
+		scene.getGame().record(ReplayEvent.Type.PLAYER_KEY, 0, keyCode);
+		scene.getGame().getPlayer().keyPressed(keyCode);
+	}
+
+	/**
+	 * Make the player interact with the object in front of it, this is recorded in the replay of the game
+	 *
+	 * @param scene The scene
+	 */
+	default void interact(Scene scene) {
+		scene.getGame().record(ReplayEvent.Type.PLAYER_INTERACT, 0, 0);
+		scene.getGame().getPlayer().interact();
+	}
+}
\ No newline at end of file
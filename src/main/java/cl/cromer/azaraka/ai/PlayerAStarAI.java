@@ -17,15 +17,11 @@ package cl.cromer.azaraka.ai;
 
 import cl.cromer.azaraka.Constants;
 import cl.cromer.azaraka.Scene;
-import cl.cromer.azaraka.object.Enemy;
 import cl.cromer.azaraka.object.Player;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Queue;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
@@ -41,17 +37,25 @@ public class PlayerAStarAI extends AI implements PlayerAI, Constants {
 	 */
 	private final Scene scene;
 	/**
-	 * The queue of states being visited
+	 * The cells waiting to be visited, ordered by cost plus heuristic
 	 */
-	private final Queue<State> frontier = new PriorityQueue<>();
+	private final IndexedHeap frontier = new IndexedHeap(HORIZONTAL_CELLS * VERTICAL_CELLS);
 	/**
-	 * A hash map containing the states that have been visited
+	 * The cost to get to each cell, only valid if the cell was seen in the current search
 	 */
-	private final Map<State, State> cameFrom = new HashMap<>();
+	private final float[] costSoFar = new float[HORIZONTAL_CELLS * VERTICAL_CELLS];
 	/**
-	 * A hash map containing the cost of the specific states
+	 * The cell each cell was reached from, only valid if the cell was seen in the current search
 	 */
-	private final Map<State, Double> costSoFar = new HashMap<>();
+	private final int[] cameFrom = new int[HORIZONTAL_CELLS * VERTICAL_CELLS];
+	/**
+	 * The search in which each cell was last reached
+	 */
+	private final int[] seen = new int[HORIZONTAL_CELLS * VERTICAL_CELLS];
+	/**
+	 * The search in which each cell was last closed
+	 */
+	private final int[] closed = new int[HORIZONTAL_CELLS * VERTICAL_CELLS];
 	/**
 	 * The steps to follow to get to the objective
 	 */
@@ -61,9 +65,9 @@ public class PlayerAStarAI extends AI implements PlayerAI, Constants {
 	 */
 	private List<State> destinations = new CopyOnWriteArrayList<>();
 	/**
-	 * The objective that was found
+	 * The current search, this is used to know which cells were seen or closed without clearing the arrays
 	 */
-	private State foundObjective;
+	private int generation = 0;
 	/**
 	 * The initial state to start searching from
 	 */
@@ -90,250 +94,94 @@ public class PlayerAStarAI extends AI implements PlayerAI, Constants {
 	 */
 	@Override
 	public boolean search(State start, State goal) {
-		start.setPriority(0);
-		frontier.add(start);
+		nextGeneration();
 
-		cameFrom.put(start, start);
-		costSoFar.put(start, 0.0);
+		int startIndex = getIndex(start.getX(), start.getY());
+		int goalIndex = getIndex(goal.getX(), goal.getY());
+		costSoFar[startIndex] = 0;
+		cameFrom[startIndex] = -1;
+		seen[startIndex] = generation;
+		frontier.push(startIndex, 0);
 
-		while (frontier.size() > 0 && cameFrom.size() <= (HORIZONTAL_CELLS * VERTICAL_CELLS) * 5) {
-			State current = frontier.poll();
+		while (!frontier.isEmpty()) {
+			int current = frontier.pop();
 
-			if (current.equals(goal)) {
-				foundObjective = current;
-				cameFrom.put(goal, current);
-				calculateRoute();
+			if (current == goalIndex) {
+				calculateRoute(goalIndex);
 				return true;
 			}
 
-			moveUp(current, goal);
-			moveDown(current, goal);
-			moveLeft(current, goal);
-			moveRight(current, goal);
-		}
-		return false;
-	}
-
-	/**
-	 * Move to the next state using A* algorithm
-	 *
-	 * @param current The current state
-	 * @param next    The next state
-	 * @param goal    The goal state
-	 */
-	private void move(State current, State next, State goal) {
-		double newCost = costSoFar.get(current) + getCost(current);
-		if (!costSoFar.containsKey(next) || newCost < costSoFar.get(next)) {
-			costSoFar.put(next, newCost);
-			double priority = newCost + heuristic(next, goal);
-			next.setPriority(priority);
-			frontier.add(next);
-			cameFrom.put(next, current);
-		}
-	}
+			closed[current] = generation;
+			int x = current / VERTICAL_CELLS;
+			int y = current % VERTICAL_CELLS;
+			float newCost = costSoFar[current] + getCost(x, y);
 
-	/**
-	 * Check the state up from the current state
-	 *
-	 * @param current The current state
-	 * @param goal    The goal
-	 */
-	private void moveUp(State current, State goal) {
-		if (current.getY() > 0) {
-			if (scene.getCells().get(current.getX()).get(current.getY() - 1).getObject() == null) {
-				State next = new State(current.getX(), current.getY() - 1, State.Type.UP, current, 0);
-				move(current, next, goal);
+			// Up
+			if (y > 0) {
+				move(current, x, y - 1, newCost, goal);
 			}
-		}
-	}
-
-	/**
-	 * Check the state down from the current state
-	 *
-	 * @param current The current state
-	 * @param goal    The goal
-	 */
-	private void moveDown(State current, State goal) {
-		if (current.getY() < VERTICAL_CELLS - 1) {
-			if (scene.getCells().get(current.getX()).get(current.getY() + 1).getObject() == null) {
-				State next = new State(current.getX(), current.getY() + 1, State.Type.DOWN, current, 0);
-				move(current, next, goal);
+			// Down
+			if (y < VERTICAL_CELLS - 1) {
+				move(current, x, y + 1, newCost, goal);
+			}
+			// Left
+			if (x > 0) {
+				move(current, x - 1, y, newCost, goal);
+			}
+			// Right
+			if (x < HORIZONTAL_CELLS - 1) {
+				move(current, x + 1, y, newCost, goal);
 			}
 		}
+		return false;
 	}
 
 	/**
-	 * Check the state left from the current state
+	 * Move to the next cell using A* algorithm
 	 *
-	 * @param current The current state
-	 * @param goal    The goal
+	 * @param current The index of the current cell
+	 * @param x       The x coordinate of the next cell
+	 * @param y       The y coordinate of the next cell
+	 * @param newCost The cost to get to the next cell from the current cell
+	 * @param goal    The goal state
 	 */
-	private void moveLeft(State current, State goal) {
-		if (current.getX() > 0) {
-			if (scene.getCells().get(current.getX() - 1).get(current.getY()).getObject() == null) {
-				State next = new State(current.getX() - 1, current.getY(), State.Type.LEFT, current, 0);
-				move(current, next, goal);
-			}
+	private void move(int current, int x, int y, float newCost, State goal) {
+		int next = getIndex(x, y);
+		if (closed[next] == generation || scene.getGrid().isBlocked(x, y)) {
+			return;
+		}
+		if (seen[next] != generation || newCost < costSoFar[next]) {
+			seen[next] = generation;
+			costSoFar[next] = newCost;
+			cameFrom[next] = current;
+			frontier.push(next, newCost + (float) heuristic(x, y, goal.getX(), goal.getY()));
 		}
 	}
 
 	/**
-	 * Check the state right from the current state
-	 *
-	 * @param current The current state
-	 * @param goal    The goal
+	 * Start a new search, the cells seen and closed in earlier searches are forgotten
 	 */
-	private void moveRight(State current, State goal) {
-		if (current.getX() < HORIZONTAL_CELLS - 1) {
-			if (scene.getCells().get(current.getX() + 1).get(current.getY()).getObject() == null) {
-				State next = new State(current.getX() + 1, current.getY(), State.Type.RIGHT, current, 0);
-				move(current, next, goal);
-			}
+	private void nextGeneration() {
+		frontier.clear();
+		steps.clear();
+		generation++;
+		if (generation == Integer.MAX_VALUE) {
+			Arrays.fill(seen, 0);
+			Arrays.fill(closed, 0);
+			generation = 1;
 		}
 	}
 
 	/**
-	 * Calculate the cost of the state
+	 * Calculate the cost of leaving a cell
 	 *
-	 * @param state The state to calculate
+	 * @param x The x coordinate of the cell
+	 * @param y The y coordinate of the cell
 	 * @return Returns the cost
 	 */
-	private double getCost(State state) {
-		// The cost increases based on how close the enemy is
-		/*
-			22222
-			24442
-			24842
-			24442
-			22222
-		 */
-
-		EnemyCost enemyCost = EnemyCost.FAR_CORNERS;
-
-		if (enemyCost.getLevel() == EnemyCost.NONE.getLevel()) {
-			return EnemyCost.NONE.getCost();
-		}
-
-		if (enemyCost.getLevel() >= EnemyCost.DIRECT.getLevel()) {
-			// The enemy
-			if (scene.getCells().get(state.getX()).get(state.getY()).getObject() instanceof Enemy) {
-				return EnemyCost.DIRECT.getCost();
-			}
-		}
-
-		if (enemyCost.getLevel() >= EnemyCost.DIRECT_SIDES.getLevel()) {
-			// Left
-			if (state.getX() > 0 && scene.getCells().get(state.getX() - 1).get(state.getY()).getObject() instanceof Enemy) {
-				return EnemyCost.DIRECT_SIDES.getCost();
-			}
-
-			// Right
-			else if (state.getX() < HORIZONTAL_CELLS - 1 && scene.getCells().get(state.getX() + 1).get(state.getY()).getObject() instanceof Enemy) {
-				return EnemyCost.DIRECT_SIDES.getCost();
-			}
-
-			// Up
-			else if (state.getY() > 0 && scene.getCells().get(state.getX()).get(state.getY() - 1).getObject() instanceof Enemy) {
-				return EnemyCost.DIRECT_SIDES.getCost();
-			}
-
-			// Down
-			else if (state.getY() < VERTICAL_CELLS - 1 && scene.getCells().get(state.getX()).get(state.getY() + 1).getObject() instanceof Enemy) {
-				return EnemyCost.DIRECT_SIDES.getCost();
-			}
-		}
-
-		if (enemyCost.getLevel() >= EnemyCost.DIRECT_CORNERS.getLevel()) {
-			// Upper left corner
-			if (state.getX() > 0 && state.getY() > 0 && scene.getCells().get(state.getX() - 1).get(state.getY() - 1).getObject() instanceof Enemy) {
-				return EnemyCost.DIRECT_CORNERS.getCost();
-			}
-
-			// Upper right corner
-			else if (state.getX() < HORIZONTAL_CELLS - 1 && state.getY() > 0 && scene.getCells().get(state.getX() + 1).get(state.getY() - 1).getObject() instanceof Enemy) {
-				return EnemyCost.DIRECT_CORNERS.getCost();
-			}
-
-			// Lower left corner
-			else if (state.getX() > 0 && state.getY() < VERTICAL_CELLS - 1 && scene.getCells().get(state.getX() - 1).get(state.getY() + 1).getObject() instanceof Enemy) {
-				return EnemyCost.DIRECT_CORNERS.getCost();
-			}
-
-			// Lower right corner
-			else if (state.getX() < HORIZONTAL_CELLS - 1 && state.getY() < VERTICAL_CELLS - 1 && scene.getCells().get(state.getX() + 1).get(state.getY() + 1).getObject() instanceof Enemy) {
-				return EnemyCost.DIRECT_CORNERS.getCost();
-			}
-		}
-
-		if (enemyCost.getLevel() >= EnemyCost.FAR_SIDES.getLevel()) {
-			// Left
-			if (state.getX() > 1 && scene.getCells().get(state.getX() - 2).get(state.getY()).getObject() instanceof Enemy) {
-				return EnemyCost.FAR_SIDES.getCost();
-			}
-
-			// Right
-			else if (state.getX() < HORIZONTAL_CELLS - 2 && scene.getCells().get(state.getX() + 2).get(state.getY()).getObject() instanceof Enemy) {
-				return EnemyCost.FAR_SIDES.getCost();
-			}
-
-			// Up
-			else if (state.getY() > 1 && scene.getCells().get(state.getX()).get(state.getY() - 2).getObject() instanceof Enemy) {
-				return EnemyCost.FAR_SIDES.getCost();
-			}
-
-			// Down
-			else if (state.getY() < VERTICAL_CELLS - 2 && scene.getCells().get(state.getX()).get(state.getY() + 2).getObject() instanceof Enemy) {
-				return EnemyCost.FAR_SIDES.getCost();
-			}
-		}
-
-		if (enemyCost.getLevel() >= EnemyCost.FAR_CORNERS.getLevel()) {
-			// Upper left corner
-			if (state.getX() > 1 && state.getY() > 0 && scene.getCells().get(state.getX() - 2).get(state.getY() - 1).getObject() instanceof Enemy) {
-				return EnemyCost.FAR_CORNERS.getCost();
-			}
-			else if (state.getX() > 1 && state.getY() > 1 && scene.getCells().get(state.getX() - 2).get(state.getY() - 2).getObject() instanceof Enemy) {
-				return EnemyCost.FAR_CORNERS.getCost();
-			}
-			else if (state.getX() > 0 && state.getY() > 1 && scene.getCells().get(state.getX() - 1).get(state.getY() - 2).getObject() instanceof Enemy) {
-				return EnemyCost.FAR_CORNERS.getCost();
-			}
-
-			// Upper right corner
-			else if (state.getX() < HORIZONTAL_CELLS - 2 && state.getY() > 0 && scene.getCells().get(state.getX() + 2).get(state.getY() - 1).getObject() instanceof Enemy) {
-				return EnemyCost.FAR_CORNERS.getCost();
-			}
-			else if (state.getX() < HORIZONTAL_CELLS - 2 && state.getY() > 1 && scene.getCells().get(state.getX() + 2).get(state.getY() - 2).getObject() instanceof Enemy) {
-				return EnemyCost.FAR_CORNERS.getCost();
-			}
-			else if (state.getX() < HORIZONTAL_CELLS - 1 && state.getY() > 1 && scene.getCells().get(state.getX() + 1).get(state.getY() - 2).getObject() instanceof Enemy) {
-				return EnemyCost.FAR_CORNERS.getCost();
-			}
-
-			// Lower left corner
-			else if (state.getX() > 1 && state.getY() < VERTICAL_CELLS - 1 && scene.getCells().get(state.getX() - 2).get(state.getY() + 1).getObject() instanceof Enemy) {
-				return EnemyCost.FAR_CORNERS.getCost();
-			}
-			else if (state.getX() > 1 && state.getY() < VERTICAL_CELLS - 2 && scene.getCells().get(state.getX() - 2).get(state.getY() + 2).getObject() instanceof Enemy) {
-				return EnemyCost.FAR_CORNERS.getCost();
-			}
-			else if (state.getX() > 0 && state.getY() < VERTICAL_CELLS - 2 && scene.getCells().get(state.getX() - 1).get(state.getY() + 2).getObject() instanceof Enemy) {
-				return EnemyCost.FAR_CORNERS.getCost();
-			}
-
-			// Lower right corner
-			else if (state.getX() < HORIZONTAL_CELLS - 2 && state.getY() < VERTICAL_CELLS - 1 && scene.getCells().get(state.getX() + 2).get(state.getY() + 1).getObject() instanceof Enemy) {
-				return EnemyCost.FAR_CORNERS.getCost();
-			}
-			else if (state.getX() < HORIZONTAL_CELLS - 2 && state.getY() < VERTICAL_CELLS - 2 && scene.getCells().get(state.getX() + 2).get(state.getY() + 2).getObject() instanceof Enemy) {
-				return EnemyCost.FAR_CORNERS.getCost();
-			}
-			else if (state.getX() < HORIZONTAL_CELLS - 1 && state.getY() < VERTICAL_CELLS - 2 && scene.getCells().get(state.getX() + 1).get(state.getY() + 2).getObject() instanceof Enemy) {
-				return EnemyCost.FAR_CORNERS.getCost();
-			}
-		}
-
-		return EnemyCost.NONE.getCost();
+	private int getCost(int x, int y) {
+		// The cost increases based on how close the enemies are
+		return scene.getEnemyInfluence().getCost(x, y);
 	}
 
 	/**
@@ -363,83 +211,92 @@ public class PlayerAStarAI extends AI implements PlayerAI, Constants {
 	}
 
 	/**
-	 * Run this in a loop
+	 * The player AI is updated every 20 ticks
+	 *
+	 * @return Returns the number of ticks between updates
 	 */
 	@Override
-	public void run() {
-		while (getActive()) {
-			try {
-				Thread.sleep(400);
-			}
-			catch (InterruptedException e) {
-				getLogger().info(e.getMessage());
-			}
-			clearStates();
+	public int getUpdateTicks() {
+		return 20;
+	}
+
+	/**
+	 * Search for the next destination and take a step towards it
+	 */
+	@Override
+	public void update() {
+		if (!getActive()) {
+			return;
+		}
+		clearStates();
 
-			int destinationIndex = 0;
-			boolean found = false;
+		int destinationIndex = 0;
+		boolean found = false;
 
-			do {
-				initial = new State(player.getCell().getX(), player.getCell().getY(), State.Type.PLAYER, null, 0);
-				State destination = destinations.get(destinationIndex);
+		do {
+			initial = new State(player.getCell().getX(), player.getCell().getY(), State.Type.PLAYER, null, 0);
+			State destination = destinations.get(destinationIndex);
 
-				if (checkCondition(scene, destination)) {
-					getLogger().info("Check A* Search goal!");
-					found = search(initial, destination);
+			if (checkCondition(scene, destination)) {
+				getLogger().info("Check A* Search goal!");
+				found = search(initial, destination);
 
-					if (initial.equals(destination)) {
-						if (destinationArrived(scene, destination)) {
-							destinations.remove(destination);
-							destinationIndex = 0;
-						}
-					}
-					else {
-						if (!found) {
-							clearStates();
-							// Don't run this because the destination might return to be available again at some point
-							//destinationArrived(objective);
-						}
+				if (initial.equals(destination)) {
+					if (destinationArrived(scene, destination)) {
+						destinations.remove(destination);
+						destinationIndex = 0;
 					}
 				}
 				else {
-					clearStates();
+					if (!found) {
+						clearStates();
+						// Don't run this because the destination might return to be available again at some point
+						//destinationArrived(objective);
+					}
 				}
+			}
+			else {
+				clearStates();
+			}
 
-				if (destinations.isEmpty()) {
-					getLogger().info("No more destinations for A* Search!");
-					setActive(false);
-					return;
-				}
-				if (!found) {
-					destinationIndex++;
-					if (destinationIndex >= destinations.size()) {
-						getLogger().info("None of the destinations are reachable for A* Search!");
-						// No destinations are reachable, make the player move around at random to help move the enemies
-						if (steps.size() == 0) {
-							steps.add(0, State.Type.PLAYER);
-						}
-						steps.add(1, getOpenSpaceAroundPlayer(scene));
-						break;
+			if (destinations.isEmpty()) {
+				getLogger().info("No more destinations for A* Search!");
+				setActive(false);
+				return;
+			}
+			if (!found) {
+				destinationIndex++;
+				if (destinationIndex >= destinations.size()) {
+					getLogger().info("None of the destinations are reachable for A* Search!");
+					// No destinations are reachable, make the player move around at random to help move the enemies
+					if (steps.size() == 0) {
+						steps.add(0, State.Type.PLAYER);
 					}
+					steps.add(1, getOpenSpaceAroundPlayer(scene));
+					break;
 				}
 			}
-			while (!found);
-
-			doAction(scene, steps);
 		}
+		while (!found);
+
+		doAction(scene, steps);
 	}
 
 	/**
 	 * Calculate the route from the objective to the player
+	 *
+	 * @param goalIndex The index of the objective that was found
 	 */
-	private void calculateRoute() {
+	private void calculateRoute(int goalIndex) {
 		getLogger().info("Calculate the route!");
-		State predecessor = foundObjective;
-		do {
-			steps.add(0, predecessor.getOperation());
-			predecessor = predecessor.getPredecessor();
+		int current = goalIndex;
+		int previous = cameFrom[current];
+		while (previous != -1) {
+			steps.add(0, getDirection(previous, current));
+			current = previous;
+			previous = cameFrom[current];
 		}
-		while (predecessor != null);
+		steps.add(0, State.Type.PLAYER);
 	}
 
 	/**
@@ -457,76 +314,6 @@ public class PlayerAStarAI extends AI implements PlayerAI, Constants {
 	 */
 	private void clearStates() {
 		frontier.clear();
-		cameFrom.clear();
-		costSoFar.clear();
 		steps.clear();
 	}
-
-	/**
-	 * The cost based on enemy position
-	 */
-	private enum EnemyCost {
-		/**
-		 * The enemy does not have a cost
-		 */
-		NONE(0, 1),
-		/**
-		 * The enemy cell has a cost
-		 */
-		DIRECT(1, 8),
-		/**
-		 * The cells to the side of the enemy have a cost
-		 */
-		DIRECT_SIDES(2, 4),
-		/**
-		 * The cells on the corner of the enemy
-		 */
-		DIRECT_CORNERS(3, 4),
-		/**
-		 * The cells father to the side of the enemy
-		 */
-		FAR_SIDES(4, 2),
-		/**
-		 * The cells in the corner farthest from the enemy
-		 */
-		FAR_CORNERS(5, 2);
-
-		/**
-		 * The level of cost to use for the enemy
-		 */
-		private final int level;
-		/**
-		 * The cost value to use
-		 */
-		private final int cost;
-
-		/**
-		 * Initialize the enemy cost and level
-		 *
-		 * @param level The level
-		 * @param cost  The cost
-		 */
-		EnemyCost(int level, int cost) {
-			this.level = level;
-			this.cost = cost;
-		}
-
-		/**
-		 * Get the cost level of the enemy
-		 *
-		 * @return Returns the cost level
-		 */
-		protected int getLevel() {
-			return this.level;
-		}
-
-		/**
-		 * Get the cost of the enemy
-		 *
-		 * @return Returns the cost
-		 */
-		protected int getCost() {
-			return this.cost;
-		}
-	}
 }
\ No newline at end of file
@@ -20,9 +20,8 @@ import cl.cromer.azaraka.Scene;
 import cl.cromer.azaraka.object.Player;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.PriorityQueue;
-import java.util.Queue;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
@@ -38,25 +37,25 @@ public class PlayerBreadthFirstAI extends AI implements PlayerAI, Constants {
 	 */
 	private final Scene scene;
 	/**
-	 * The queued states to check
+	 * The queued cells to check, ordered by distance to the objective
 	 */
-	private final Queue<State> queuedStates = new PriorityQueue<>();
+	private final IndexedHeap queuedCells = new IndexedHeap(HORIZONTAL_CELLS * VERTICAL_CELLS);
 	/**
-	 * The history of states that have been checked
+	 * The cell each cell was reached from, only valid if the cell was visited in the current search
 	 */
-	private final List<State> history = new ArrayList<>();
+	private final int[] cameFrom = new int[HORIZONTAL_CELLS * VERTICAL_CELLS];
 	/**
-	 * The steps to get to the objective
+	 * The search in which each cell was last visited
 	 */
-	private final List<State.Type> steps = new ArrayList<>();
+	private final int[] visited = new int[HORIZONTAL_CELLS * VERTICAL_CELLS];
 	/**
-	 * If the search was successful or not
+	 * The steps to get to the objective
 	 */
-	private boolean success = false;
+	private final List<State.Type> steps = new ArrayList<>();
 	/**
-	 * The state of the search objective
+	 * The current search, this is used to know which cells were visited without clearing the array
 	 */
-	private State searchGoal;
+	private int generation = 0;
 	/**
 	 * The destinations to visit
 	 */
@@ -86,25 +85,42 @@ public class PlayerBreadthFirstAI extends AI implements PlayerAI, Constants {
 	 * @return Returns true if a path to the goal is found or false otherwise
 	 */
 	public boolean search(State searchInitial, State searchGoal) {
-		this.searchGoal = searchGoal;
-		searchInitial.setPriority(getPriority(searchInitial));
-		queuedStates.add(searchInitial);
-		history.add(searchInitial);
+		nextGeneration();
+
+		int startIndex = getIndex(searchInitial.getX(), searchInitial.getY());
+		int goalIndex = getIndex(searchGoal.getX(), searchGoal.getY());
+		visited[startIndex] = generation;
+		cameFrom[startIndex] = -1;
+		queuedCells.push(startIndex, getPriority(searchInitial.getX(), searchInitial.getY(), searchGoal));
 
-		success = searchInitial.equals(searchGoal);
+		boolean success = startIndex == goalIndex;
 
-		while (!queuedStates.isEmpty() && !success) {
-			State current = queuedStates.poll();
+		while (!queuedCells.isEmpty() && !success) {
+			int current = queuedCells.pop();
+			int x = current / VERTICAL_CELLS;
+			int y = current % VERTICAL_CELLS;
 
-			moveUp(current);
-			moveDown(current);
-			moveLeft(current);
-			moveRight(current);
+			// Up
+			if (y > 0) {
+				success = move(current, x, y - 1, searchGoal);
+			}
+			// Down
+			if (!success && y < VERTICAL_CELLS - 1) {
+				success = move(current, x, y + 1, searchGoal);
+			}
+			// Left
+			if (!success && x > 0) {
+				success = move(current, x - 1, y, searchGoal);
+			}
+			// Right
+			if (!success && x < HORIZONTAL_CELLS - 1) {
+				success = move(current, x + 1, y, searchGoal);
+			}
 		}
 
 		if (success) {
 			getLogger().info("Route to objective found!");
-			calculateRoute();
+			calculateRoute(startIndex == goalIndex ? searchGoal : searchInitial, goalIndex);
 			return true;
 		}
 		else {
@@ -114,102 +130,68 @@ public class PlayerBreadthFirstAI extends AI implements PlayerAI, Constants {
 	}
 
 	/**
-	 * Add the next move to the queue
-	 *
-	 * @param next The next state
-	 */
-	private void move(State next) {
-		next.setPriority(getPriority(next));
-		if (!history.contains(next)) {
-			queuedStates.add(next);
-			history.add(next);
-
-			if (next.equals(searchGoal)) {
-				searchGoal = next;
-				success = true;
-			}
-		}
-	}
-
-	/**
-	 * Move up
+	 * Add the next cell to the queue if it is free and hasn't been visited yet
 	 *
-	 * @param current The current state
+	 * @param current The index of the current cell
+	 * @param x       The x coordinate of the next cell
+	 * @param y       The y coordinate of the next cell
+	 * @param goal    The goal state
+	 * @return Returns true if the next cell is the goal
 	 */
-	private void moveUp(State current) {
-		if (current.getY() > 0) {
-			if (scene.getCells().get(current.getX()).get(current.getY() - 1).getObject() == null) {
-				State next = new State(current.getX(), current.getY() - 1, State.Type.UP, current, -1);
-				move(next);
-			}
-		}
-	}
-
-	/**
-	 * Move down
-	 *
-	 * @param current The current state
-	 */
-	private void moveDown(State current) {
-		if (current.getY() < VERTICAL_CELLS - 1) {
-			if (scene.getCells().get(current.getX()).get(current.getY() + 1).getObject() == null) {
-				State next = new State(current.getX(), current.getY() + 1, State.Type.DOWN, current, -1);
-				move(next);
-			}
+	private boolean move(int current, int x, int y, State goal) {
+		int next = getIndex(x, y);
+		if (visited[next] == generation || scene.getGrid().isBlocked(x, y)) {
+			return false;
 		}
+		visited[next] = generation;
+		cameFrom[next] = current;
+		queuedCells.push(next, getPriority(x, y, goal));
+		return x == goal.getX() && y == goal.getY();
 	}
 
 	/**
-	 * Move left
+	 * Calculate the route to the object
 	 *
-	 * @param current The current state
+	 * @param origin    The state the route starts from
+	 * @param goalIndex The index of the goal cell
 	 */
-	private void moveLeft(State current) {
-		if (current.getX() > 0) {
-			if (scene.getCells().get(current.getX() - 1).get(current.getY()).getObject() == null) {
-				State next = new State(current.getX() - 1, current.getY(), State.Type.LEFT, current, -1);
-				move(next);
-			}
+	private void calculateRoute(State origin, int goalIndex) {
+		getLogger().info("Calculate the route!");
+		int current = goalIndex;
+		int previous = cameFrom[current];
+		while (previous != -1) {
+			steps.add(0, getDirection(previous, current));
+			current = previous;
+			previous = cameFrom[current];
 		}
+		steps.add(0, origin.getOperation());
 	}
 
 	/**
-	 * Move right
+	 * Get priority based on distance from the search objective
 	 *
-	 * @param current The current state
+	 * @param x    The x coordinate of the cell
+	 * @param y    The y coordinate of the cell
+	 * @param goal The search objective
+	 * @return Returns the priority based on distance
 	 */
-	private void moveRight(State current) {
-		if (current.getX() < HORIZONTAL_CELLS - 1) {
-			if (scene.getCells().get(current.getX() + 1).get(current.getY()).getObject() == null) {
-				State next = new State(current.getX() + 1, current.getY(), State.Type.RIGHT, current, -1);
-				move(next);
-			}
-		}
+	private float getPriority(int x, int y, State goal) {
+		int distanceX = x - goal.getX();
+		int distanceY = y - goal.getY();
+		return (float) Math.sqrt(distanceX * distanceX + distanceY * distanceY);
 	}
 
 	/**
-	 * Calculate the route to the object
+	 * Start a new search, the cells visited in earlier searches are forgotten
 	 */
-	private void calculateRoute() {
-		getLogger().info("Calculate the route!");
-		State predecessor = searchGoal;
-		do {
-			steps.add(0, predecessor.getOperation());
-			predecessor = predecessor.getPredecessor();
+	private void nextGeneration() {
+		queuedCells.clear();
+		steps.clear();
+		generation++;
+		if (generation == Integer.MAX_VALUE) {
+			Arrays.fill(visited, 0);
+			generation = 1;
 		}
-		while (predecessor != null);
-	}
-
-	/**
-	 * Get priority based on distance from the search objective
-	 *
-	 * @param state The state to get the priority for
-	 * @return Returns the priority based on distance
-	 */
-	private double getPriority(State state) {
-		double goalDistance = Math.pow(Math.abs(state.getX() - searchGoal.getX()), 2) + Math.pow(Math.abs(state.getY() - searchGoal.getY()), 2);
-		goalDistance = Math.sqrt(goalDistance);
-		return goalDistance;
 	}
 
 	/**
@@ -252,78 +234,80 @@ public class PlayerBreadthFirstAI extends AI implements PlayerAI, Constants {
 	 * Clear the states to be ready for a new search
 	 */
 	private void clearStates() {
-		queuedStates.clear();
-		history.clear();
+		queuedCells.clear();
 		steps.clear();
 	}
 
 	/**
-	 * Run the steps in a loop
+	 * The player AI is updated every 20 ticks
+	 *
+	 * @return Returns the number of ticks between updates
 	 */
 	@Override
-	public void run() {
-		while (getActive()) {
-			try {
-				Thread.sleep(400);
-			}
-			catch (InterruptedException e) {
-				getLogger().info(e.getMessage());
-			}
-			synchronized (this) {
-				clearStates();
+	public int getUpdateTicks() {
+		return 20;
+	}
 
-				State destination;
-				boolean found = false;
-				int destinationIndex = 0;
+	/**
+	 * Search for the next destination and take a step towards it
+	 */
+	@Override
+	public void update() {
+		if (!getActive()) {
+			return;
+		}
+		clearStates();
 
-				do {
-					initial = new State(player.getCell().getX(), player.getCell().getY(), State.Type.PLAYER, null, 0);
-					destination = destinations.get(destinationIndex);
+		State destination;
+		boolean found = false;
+		int destinationIndex = 0;
 
-					if (checkCondition(scene, destination)) {
-						getLogger().info("Check Breadth-First Search goal!");
-						found = search(initial, destination);
+		do {
+			initial = new State(player.getCell().getX(), player.getCell().getY(), State.Type.PLAYER, null, 0);
+			destination = destinations.get(destinationIndex);
 
-						if (initial.equals(destination)) {
-							if (destinationArrived(scene, destination)) {
-								destinations.remove(destination);
-								destinationIndex = 0;
-							}
-						}
-						else {
-							if (!found) {
-								clearStates();
-								// Don't run this because the destination might return to be available again at some point
-								//destinationArrived(objective);
-							}
-						}
-					}
-					else {
-						clearStates();
-					}
+			if (checkCondition(scene, destination)) {
+				getLogger().info("Check Breadth-First Search goal!");
+				found = search(initial, destination);
 
-					if (destinations.isEmpty()) {
-						getLogger().info("No more destinations for Breadth-First Search!");
-						setActive(false);
-						return;
+				if (initial.equals(destination)) {
+					if (destinationArrived(scene, destination)) {
+						destinations.remove(destination);
+						destinationIndex = 0;
 					}
+				}
+				else {
 					if (!found) {
-						destinationIndex++;
-						if (destinationIndex >= destinations.size()) {
-							getLogger().info("None of the destinations are reachable for Breadth-First Search!");
-							// No destinations are reachable, make the player move around at random to help move the enemies
-							if (steps.size() == 0) {
-								steps.add(0, State.Type.PLAYER);
-							}
-							steps.add(1, getOpenSpaceAroundPlayer(scene));
-							break;
-						}
+						clearStates();
+						// Don't run this because the destination might return to be available again at some point
+						//destinationArrived(objective);
 					}
 				}
-				while (!found);
+			}
+			else {
+				clearStates();
+			}
 
-				doAction(scene, steps);
+			if (destinations.isEmpty()) {
+				getLogger().info("No more destinations for Breadth-First Search!");
+				setActive(false);
+				return;
+			}
+			if (!found) {
+				destinationIndex++;
+				if (destinationIndex >= destinations.size()) {
+					getLogger().info("None of the destinations are reachable for Breadth-First Search!");
+					// No destinations are reachable, make the player move around at random to help move the enemies
+					if (steps.size() == 0) {
+						steps.add(0, State.Type.PLAYER);
+					}
+					steps.add(1, getOpenSpaceAroundPlayer(scene));
+					break;
+				}
 			}
 		}
+		while (!found);
+
+		doAction(scene, steps);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka.ai;
+
+import cl.cromer.azaraka.Constants;
+import cl.cromer.azaraka.Scene;
+import cl.cromer.azaraka.object.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The class implements the D* Lite search AI algorithm for the player, the search for each destination is kept and
+ * repaired when cells change instead of being done again from scratch
+ */
+public class PlayerDStarLiteAI extends AI implements PlayerAI, CellCostListener, Constants {
+	/**
+	 * The player
+	 */
+	private final Player player;
+	/**
+	 * The scene the AI is in
+	 */
+	private final Scene scene;
+	/**
+	 * The planners for each destination, the key is the index of the destination cell
+	 */
+	private final Map<Integer, DStarLite> planners = new HashMap<>();
+	/**
+	 * The steps to follow to get to the objective
+	 */
+	private final List<State.Type> steps = new ArrayList<>();
+	/**
+	 * The destinations the player needs to visit
+	 */
+	private List<State> destinations = new CopyOnWriteArrayList<>();
+	/**
+	 * The initial state to start searching from
+	 */
+	private State initial;
+
+	/**
+	 * Initialize the D* Lite algorithm
+	 *
+	 * @param scene  The scene the algorithm is in
+	 * @param player The player being controlled by AI
+	 */
+	public PlayerDStarLiteAI(Scene scene, Player player) {
+		setLogger(getLogger(this.getClass(), Constants.LogLevel.AI));
+		this.scene = scene;
+		this.player = player;
+		scene.addCellCostListener(this);
+	}
+
+	/**
+	 * Search for a path between the start point and the goal, the planner for the goal is reused between searches
+	 *
+	 * @param start The start point
+	 * @param goal  The goal
+	 * @return Returns true if a path to the goal exists or false otherwise
+	 */
+	@Override
+	public boolean search(State start, State goal) {
+		int goalIndex = getIndex(goal.getX(), goal.getY());
+		DStarLite planner = planners.get(goalIndex);
+		if (planner == null) {
+			planner = new DStarLite(scene, this, goal.getX(), goal.getY());
+			planners.put(goalIndex, planner);
+		}
+		steps.clear();
+		return planner.plan(start.getX(), start.getY(), steps);
+	}
+
+	/**
+	 * Tell the planners that the cost of a cell changed
+	 *
+	 * @param x The x coordinate of the cell
+	 * @param y The y coordinate of the cell
+	 */
+	@Override
+	public void cellCostChanged(int x, int y) {
+		for (DStarLite planner : planners.values()) {
+			planner.cellCostChanged(x, y);
+		}
+	}
+
+	/**
+	 * Remove the picked up key from destinations if it is there
+	 *
+	 * @param x The x coordinate of the key
+	 * @param y The y coordinate of the key
+	 */
+	public void removeKeyDestination(int x, int y) {
+		for (State state : destinations) {
+			if (state.getOperation() == State.Type.KEY && state.getX() == x && state.getY() == y) {
+				destinations.remove(state);
+				sortDestinations();
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Add a destination to visit
+	 *
+	 * @param destination The destination to visit
+	 */
+	public void addDestination(State destination) {
+		destinations.add(destination);
+		sortDestinations();
+	}
+
+	/**
+	 * The player AI is updated every 20 ticks
+	 *
+	 * @return Returns the number of ticks between updates
+	 */
+	@Override
+	public int getUpdateTicks() {
+		return 20;
+	}
+
+	/**
+	 * Search for the next destination and take a step towards it
+	 */
+	@Override
+	public void update() {
+		if (!getActive()) {
+			return;
+		}
+		clearStates();
+
+		int destinationIndex = 0;
+		boolean found = false;
+
+		do {
+			initial = new State(player.getCell().getX(), player.getCell().getY(), State.Type.PLAYER, null, 0);
+			State destination = destinations.get(destinationIndex);
+
+			if (checkCondition(scene, destination)) {
+				getLogger().info("Check D* Lite Search goal!");
+				found = search(initial, destination);
+
+				if (initial.equals(destination)) {
+					if (destinationArrived(scene, destination)) {
+						destinations.remove(destination);
+						destinationIndex = 0;
+					}
+				}
+				else {
+					if (!found) {
+						clearStates();
+						// Don't run this because the destination might return to be available again at some point
+						//destinationArrived(objective);
+					}
+				}
+			}
+			else {
+				clearStates();
+			}
+
+			if (destinations.isEmpty()) {
+				getLogger().info("No more destinations for D* Lite Search!");
+				setActive(false);
+				return;
+			}
+			if (!found) {
+				destinationIndex++;
+				if (destinationIndex >= destinations.size()) {
+					getLogger().info("None of the destinations are reachable for D* Lite Search!");
+					// No destinations are reachable, make the player move around at random to help move the enemies
+					if (steps.size() == 0) {
+						steps.add(0, State.Type.PLAYER);
+					}
+					steps.add(1, getOpenSpaceAroundPlayer(scene));
+					break;
+				}
+			}
+		}
+		while (!found);
+
+		doAction(scene, steps);
+	}
+
+	/**
+	 * Sort the destinations by importance, if the importance is the same then sort them by distance
+	 */
+	public void sortDestinations() {
+		if (initial == null) {
+			initial = new State(player.getCell().getX(), player.getCell().getY(), State.Type.PLAYER, null, 0);
+		}
+		destinations = sortDestinations(destinations, initial);
+	}
+
+	/**
+	 * Clear the states to be ready for a new search
+	 */
+	private void clearStates() {
+		steps.clear();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka.ai;
+
+import cl.cromer.azaraka.Constants;
+import cl.cromer.azaraka.Scene;
+import cl.cromer.azaraka.object.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * This class plans the whole route of the player at once, the order of the destinations is chosen by the real path
+ * costs instead of the importance and straight line distance
+ */
+public class PlayerMultiGoalAI extends AI implements PlayerAI, Constants {
+	/**
+	 * The player
+	 */
+	private final Player player;
+	/**
+	 * The scene the AI is in
+	 */
+	private final Scene scene;
+	/**
+	 * The planner that chooses the order of the destinations
+	 */
+	private final RoutePlanner planner;
+	/**
+	 * The steps to follow to get to the objective
+	 */
+	private final List<State.Type> steps = new ArrayList<>();
+	/**
+	 * The destinations the player needs to visit
+	 */
+	private List<State> destinations = new CopyOnWriteArrayList<>();
+	/**
+	 * The initial state to start searching from
+	 */
+	private State initial;
+
+	/**
+	 * Initialize the multi goal AI
+	 *
+	 * @param scene  The scene the AI is in
+	 * @param player The player being controlled by AI
+	 */
+	public PlayerMultiGoalAI(Scene scene, Player player) {
+		setLogger(getLogger(this.getClass(), Constants.LogLevel.AI));
+		this.scene = scene;
+		this.player = player;
+		planner = new RoutePlanner(scene);
+	}
+
+	/**
+	 * Search for a path between the start point and the goal
+	 *
+	 * @param start The start point
+	 * @param goal  The goal
+	 * @return Returns true if a path to the goal exists or false otherwise
+	 */
+	@Override
+	public boolean search(State start, State goal) {
+		steps.clear();
+		List<State> goals = new ArrayList<>();
+		goals.add(goal);
+		planner.plan(start, goals);
+		if (planner.isReachable(goal)) {
+			planner.calculateRoute(goal, steps);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Add a destination to visit
+	 *
+	 * @param destination The destination to visit
+	 */
+	public void addDestination(State destination) {
+		destinations.add(destination);
+		sortDestinations();
+	}
+
+	/**
+	 * Remove the picked up key from destinations if it is there
+	 *
+	 * @param x The x coordinate of the key
+	 * @param y The y coordinate of the key
+	 */
+	public void removeKeyDestination(int x, int y) {
+		for (State state : destinations) {
+			if (state.getOperation() == State.Type.KEY && state.getX() == x && state.getY() == y) {
+				destinations.remove(state);
+				sortDestinations();
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Sort the destinations by importance, this is only used when the planned destination can't be reached
+	 */
+	public void sortDestinations() {
+		if (initial == null) {
+			initial = new State(player.getCell().getX(), player.getCell().getY(), State.Type.PLAYER, null, 0);
+		}
+		destinations = sortDestinations(destinations, initial);
+	}
+
+	/**
+	 * The player AI is updated every 20 ticks
+	 *
+	 * @return Returns the number of ticks between updates
+	 */
+	@Override
+	public int getUpdateTicks() {
+		return 20;
+	}
+
+	/**
+	 * Plan the route and take a step towards the next destination
+	 */
+	@Override
+	public void update() {
+		if (!getActive()) {
+			return;
+		}
+		steps.clear();
+		initial = new State(player.getCell().getX(), player.getCell().getY(), State.Type.PLAYER, null, 0);
+
+		for (State destination : destinations) {
+			if (initial.equals(destination) && checkCondition(scene, destination)) {
+				if (destinationArrived(scene, destination)) {
+					destinations.remove(destination);
+				}
+				// Arriving is the action for this update
+				return;
+			}
+		}
+
+		if (destinations.isEmpty()) {
+			getLogger().info("No more destinations for the route planner!");
+			setActive(false);
+			return;
+		}
+
+		State next = planner.plan(initial, destinations);
+		if (next == null || !checkCondition(scene, next) || !planner.isReachable(next)) {
+			// The planned destination can't be used right now, go to the most important one that can
+			next = null;
+			for (State destination : destinations) {
+				if (checkCondition(scene, destination) && planner.isReachable(destination)) {
+					next = destination;
+					break;
+				}
+			}
+		}
+
+		if (next != null) {
+			getLogger().info("Route planner goal: " + next.getOperation() + " cost: " + planner.getDistance(next));
+			planner.calculateRoute(next, steps);
+		}
+		else {
+			getLogger().info("None of the destinations are reachable for the route planner!");
+			// No destinations are reachable, make the player move around at random to help move the enemies
+			steps.add(State.Type.PLAYER);
+			steps.add(getOpenSpaceAroundPlayer(scene));
+		}
+
+		doAction(scene, steps);
+	}
+}
\ No newline at end of file
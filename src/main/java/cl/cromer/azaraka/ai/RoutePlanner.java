@@ -0,0 +1,335 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka.ai;
+
+import cl.cromer.azaraka.Cell;
+import cl.cromer.azaraka.Constants;
+import cl.cromer.azaraka.Scene;
+import cl.cromer.azaraka.object.Object;
+import cl.cromer.azaraka.object.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class finds the best order to visit the destinations of the player, the real path costs are found with Dijkstra
+ * and then every order that follows the rules of the game is checked with dynamic programming
+ */
+public class RoutePlanner implements Constants {
+	/**
+	 * The cost used for cells that can't be reached, targets and moves between targets with this cost are left out of
+	 * the plan
+	 */
+	private static final int UNREACHABLE = Integer.MAX_VALUE / 16;
+	/**
+	 * The scene the planner is in
+	 */
+	private final Scene scene;
+	/**
+	 * The cells waiting to be visited by Dijkstra
+	 */
+	private final IndexedHeap open = new IndexedHeap(HORIZONTAL_CELLS * VERTICAL_CELLS);
+	/**
+	 * The cost from the player to each cell
+	 */
+	private final int[] playerDistance = new int[HORIZONTAL_CELLS * VERTICAL_CELLS];
+	/**
+	 * The cell each cell was reached from when searching from the player
+	 */
+	private final int[] cameFrom = new int[HORIZONTAL_CELLS * VERTICAL_CELLS];
+	/**
+	 * The cost from a destination to each cell
+	 */
+	private final int[] distance = new int[HORIZONTAL_CELLS * VERTICAL_CELLS];
+
+	/**
+	 * Initialize the route planner
+	 *
+	 * @param scene The scene the planner is in
+	 */
+	public RoutePlanner(Scene scene) {
+		this.scene = scene;
+	}
+
+	/**
+	 * Find the destination that should be visited next
+	 *
+	 * @param initial      The state of the player
+	 * @param destinations The destinations that still need to be visited
+	 * @return Returns the next destination or null if there is nothing to plan
+	 */
+	public State plan(State initial, List<State> destinations) {
+		Player player = scene.getGame().getPlayer();
+		dijkstra(AI.getIndex(initial.getX(), initial.getY()), playerDistance, cameFrom);
+
+		List<State> targets = new ArrayList<>();
+		State portal = null;
+		State exit = null;
+		boolean chestsLeft = false;
+		for (State destination : destinations) {
+			switch (destination.getOperation()) {
+				case KEY:
+					if (player.getGemCount() < 2) {
+						targets.add(destination);
+					}
+					break;
+				case CHEST:
+					if (player.getGemCount() < 2) {
+						targets.add(destination);
+						chestsLeft = true;
+					}
+					break;
+				case PORTAL:
+					portal = destination;
+					break;
+				case EXIT:
+					exit = destination;
+					break;
+			}
+		}
+
+		// The gems have to be purified in the portal before the door opens, the portal is visited once after the last chest
+		boolean portalNeeded = chestsLeft || player.hasTaintedGem();
+		Cell portalCell = scene.getGame().getPortal().getCell();
+		int portalIndex = AI.getIndex(portalCell.getX(), portalCell.getY());
+		int exitIndex = (exit == null) ? -1 : AI.getIndex(exit.getX(), exit.getY());
+		int portalToExit = 0;
+		if (portalNeeded && exitIndex != -1) {
+			dijkstra(portalIndex, distance, null);
+			portalToExit = distance[exitIndex];
+		}
+
+		int count = targets.size();
+		if (count == 0) {
+			if (portalNeeded) {
+				return portal;
+			}
+			return exit;
+		}
+
+		int[][] between = new int[count][count];
+		int[] end = new int[count];
+		for (int i = 0; i < count; i++) {
+			dijkstra(AI.getIndex(targets.get(i).getX(), targets.get(i).getY()), distance, null);
+			for (int j = 0; j < count; j++) {
+				between[i][j] = distance[AI.getIndex(targets.get(j).getX(), targets.get(j).getY())];
+			}
+			if (portalNeeded) {
+				end[i] = distance[portalIndex] + portalToExit;
+			}
+			else if (exitIndex != -1) {
+				end[i] = distance[exitIndex];
+			}
+		}
+
+		// best[mask][last] is the cheapest cost to visit the targets in mask ending at last
+		long[][] best = new long[1 << count][count];
+		int[][] first = new int[1 << count][count];
+		for (long[] row : best) {
+			Arrays.fill(row, Long.MAX_VALUE);
+		}
+		int keysHeld = player.getKeyCount();
+		for (int i = 0; i < count; i++) {
+			// Only the targets the player can walk to are ordered
+			int distanceToTarget = getIndexDistance(playerDistance, targets.get(i));
+			if (distanceToTarget < UNREACHABLE && canVisit(targets, i, 0, keysHeld)) {
+				best[1 << i][i] = distanceToTarget;
+				first[1 << i][i] = i;
+			}
+		}
+		for (int mask = 1; mask < (1 << count); mask++) {
+			for (int last = 0; last < count; last++) {
+				if (best[mask][last] == Long.MAX_VALUE) {
+					continue;
+				}
+				for (int next = 0; next < count; next++) {
+					if ((mask & (1 << next)) != 0 || between[last][next] >= UNREACHABLE || !canVisit(targets, next, mask, keysHeld)) {
+						continue;
+					}
+					long cost = best[mask][last] + between[last][next];
+					int nextMask = mask | (1 << next);
+					if (cost < best[nextMask][next]) {
+						best[nextMask][next] = cost;
+						first[nextMask][next] = first[mask][last];
+					}
+				}
+			}
+		}
+
+		// If not every target can be visited, plan for the most targets that can be
+		int bestFirst = -1;
+		long bestCost = Long.MAX_VALUE;
+		int bestVisited = 0;
+		for (int mask = 1; mask < (1 << count); mask++) {
+			int visited = Integer.bitCount(mask);
+			for (int last = 0; last < count; last++) {
+				if (best[mask][last] == Long.MAX_VALUE) {
+					continue;
+				}
+				long cost = best[mask][last] + ((mask == (1 << count) - 1) ? end[last] : 0);
+				if (visited > bestVisited || (visited == bestVisited && cost < bestCost)) {
+					bestVisited = visited;
+					bestCost = cost;
+					bestFirst = first[mask][last];
+				}
+			}
+		}
+		return (bestFirst == -1) ? null : targets.get(bestFirst);
+	}
+
+	/**
+	 * Check if the player can reach a destination from where the player is
+	 *
+	 * @param destination The destination
+	 * @return Returns true if there is a path
+	 */
+	public boolean isReachable(State destination) {
+		int index = AI.getIndex(destination.getX(), destination.getY());
+		return playerDistance[index] < UNREACHABLE && !isBlocked(index);
+	}
+
+	/**
+	 * Get the cost of the path from the player to a destination
+	 *
+	 * @param destination The destination
+	 * @return Returns the cost
+	 */
+	public int getDistance(State destination) {
+		return getIndexDistance(playerDistance, destination);
+	}
+
+	/**
+	 * Calculate the route from the player to a destination
+	 *
+	 * @param destination The destination
+	 * @param steps       The list to add the steps to follow to
+	 */
+	public void calculateRoute(State destination, List<State.Type> steps) {
+		int current = AI.getIndex(destination.getX(), destination.getY());
+		int previous = cameFrom[current];
+		while (previous != -1) {
+			steps.add(0, AI.getDirection(previous, current));
+			current = previous;
+			previous = cameFrom[current];
+		}
+		steps.add(0, State.Type.PLAYER);
+	}
+
+	/**
+	 * Check if a target can be visited after the targets in the mask, a chest needs a key that hasn't been used
+	 *
+	 * @param targets  The keys and chests
+	 * @param target   The target to visit
+	 * @param mask     The targets already visited
+	 * @param keysHeld The number of keys the player is carrying
+	 * @return Returns true if it can be visited
+	 */
+	private boolean canVisit(List<State> targets, int target, int mask, int keysHeld) {
+		if (targets.get(target).getOperation() != State.Type.CHEST) {
+			return true;
+		}
+		int keys = keysHeld;
+		for (int i = 0; i < targets.size(); i++) {
+			if ((mask & (1 << i)) != 0) {
+				keys += (targets.get(i).getOperation() == State.Type.KEY) ? 1 : -1;
+			}
+		}
+		return keys > 0;
+	}
+
+	/**
+	 * Find the cost from a cell to every other cell, cells with something in them are given a cost so that goals like
+	 * the closed door can be planned for, but they are never walked through
+	 *
+	 * @param source       The index of the cell to start from
+	 * @param cellDistance The array to store the costs in
+	 * @param cellParent   The array to store the cell each cell was reached from, or null if the route is not needed
+	 */
+	private void dijkstra(int source, int[] cellDistance, int[] cellParent) {
+		Arrays.fill(cellDistance, UNREACHABLE);
+		open.clear();
+		cellDistance[source] = 0;
+		if (cellParent != null) {
+			cellParent[source] = -1;
+		}
+		open.push(source, 0);
+
+		while (!open.isEmpty()) {
+			int current = open.pop();
+			if (current != source && isBlocked(current)) {
+				continue;
+			}
+			int x = current / VERTICAL_CELLS;
+			int y = current % VERTICAL_CELLS;
+			int newDistance = cellDistance[current] + scene.getEnemyInfluence().getCost(x, y);
+
+			if (y > 0) {
+				relax(current, current - 1, newDistance, cellDistance, cellParent);
+			}
+			if (y < VERTICAL_CELLS - 1) {
+				relax(current, current + 1, newDistance, cellDistance, cellParent);
+			}
+			if (x > 0) {
+				relax(current, current - VERTICAL_CELLS, newDistance, cellDistance, cellParent);
+			}
+			if (x < HORIZONTAL_CELLS - 1) {
+				relax(current, current + VERTICAL_CELLS, newDistance, cellDistance, cellParent);
+			}
+		}
+	}
+
+	/**
+	 * Lower the cost of a cell if a cheaper way to it was found
+	 *
+	 * @param current      The index of the cell being expanded
+	 * @param next         The index of the neighbouring cell
+	 * @param newDistance  The cost to the neighbouring cell through the current cell
+	 * @param cellDistance The costs of the cells
+	 * @param cellParent   The cell each cell was reached from, or null if the route is not needed
+	 */
+	private void relax(int current, int next, int newDistance, int[] cellDistance, int[] cellParent) {
+		if (newDistance < cellDistance[next]) {
+			cellDistance[next] = newDistance;
+			if (cellParent != null) {
+				cellParent[next] = current;
+			}
+			open.push(next, newDistance);
+		}
+	}
+
+	/**
+	 * Check if something other than the player is in a cell
+	 *
+	 * @param index The index of the cell
+	 * @return Returns true if the cell is blocked
+	 */
+	private boolean isBlocked(int index) {
+		Object object = scene.getGrid().getCell(index).getObject();
+		return object != null && !(object instanceof Player);
+	}
+
+	/**
+	 * Get the cost to a destination from a cost array
+	 *
+	 * @param cellDistance The costs
+	 * @param destination  The destination
+	 * @return Returns the cost
+	 */
+	private int getIndexDistance(int[] cellDistance, State destination) {
+		return cellDistance[AI.getIndex(destination.getX(), destination.getY())];
+	}
+}
\ No newline at end of file
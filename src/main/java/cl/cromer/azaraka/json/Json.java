@@ -17,13 +17,28 @@ package cl.cromer.azaraka.json;
 
 import cl.cromer.azaraka.Cell;
 import cl.cromer.azaraka.Constants;
+import cl.cromer.azaraka.Grid;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.Strictness;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 /**
@@ -42,34 +57,166 @@ public class Json implements Constants {
 		logger = getLogger(this.getClass(), LogLevel.JSON);
 	}
 
+	/**
+	 * Read the scene from the JSON file in the resources, the cells are made while the file is read so the whole file
+	 * is never in memory at once
+	 *
+	 * @return Returns the JSON cells of the scene or null if it could not be read
+	 */
+	public JsonCell[][] importScene() {
+		Reader resourceReader = getResourceReader("/scene.json");
+		if (resourceReader == null) {
+			return null;
+		}
+		try (JsonReader jsonReader = new JsonReader(resourceReader)) {
+			// Accept the same hand written JSON that Gson accepts
+			jsonReader.setStrictness(Strictness.LENIENT);
+			return readScene(jsonReader);
+		}
+		catch (IOException | IllegalStateException | NumberFormatException e) {
+			logger.warning(e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Read the columns of cells of the scene
+	 *
+	 * @param jsonReader The reader positioned at the start of the scene
+	 * @return Returns the JSON cells of the scene
+	 * @throws IOException Thrown if the scene could not be read
+	 */
+	private JsonCell[][] readScene(JsonReader jsonReader) throws IOException {
+		List<JsonCell[]> columns = new ArrayList<>();
+		List<JsonCell> column = new ArrayList<>();
+		jsonReader.beginArray();
+		while (jsonReader.hasNext()) {
+			column.clear();
+			jsonReader.beginArray();
+			while (jsonReader.hasNext()) {
+				column.add(readCell(jsonReader));
+			}
+			jsonReader.endArray();
+			columns.add(column.toArray(new JsonCell[0]));
+		}
+		jsonReader.endArray();
+		return columns.toArray(new JsonCell[0][]);
+	}
+
+	/**
+	 * Read a cell of the scene
+	 *
+	 * @param jsonReader The reader positioned at the start of the cell
+	 * @return Returns the JSON cell
+	 * @throws IOException Thrown if the cell could not be read
+	 */
+	private JsonCell readCell(JsonReader jsonReader) throws IOException {
+		JsonCell jsonCell = new JsonCell();
+		jsonReader.beginObject();
+		while (jsonReader.hasNext()) {
+			switch (jsonReader.nextName()) {
+				case "type":
+					if (jsonReader.peek() == JsonToken.NULL) {
+						jsonReader.nextNull();
+						break;
+					}
+					String name = jsonReader.nextString();
+					JsonCell.Type type = JsonCell.Type.fromName(name);
+					if (type == null) {
+						logger.warning("Unknown cell type " + name + ", the cell is left empty");
+					}
+					else {
+						jsonCell.type = type;
+					}
+					break;
+				case "textures":
+					jsonReader.beginArray();
+					while (jsonReader.hasNext()) {
+						jsonCell.textures.add(jsonReader.nextInt());
+					}
+					jsonReader.endArray();
+					break;
+				default:
+					jsonReader.skipValue();
+					break;
+			}
+		}
+		jsonReader.endObject();
+		return jsonCell;
+	}
+
+	/**
+	 * Read the index of the texture atlas from the JSON file in the resources
+	 *
+	 * @return Returns the sequences in the atlas by name or null if it could not be read
+	 */
+	public Map<String, JsonSequence> importAtlas() {
+		Reader resourceReader = getResourceReader("/img/atlas/atlas.json");
+		if (resourceReader == null) {
+			return null;
+		}
+		GsonBuilder gsonBuilder = new GsonBuilder();
+		Gson gson = gsonBuilder.create();
+		Type type = new TypeToken<LinkedHashMap<String, JsonSequence>>() {
+		}.getType();
+		try (Reader reader = resourceReader) {
+			return gson.fromJson(reader, type);
+		}
+		catch (IOException | JsonParseException e) {
+			logger.warning(e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Export the index of the texture atlas to a file
+	 *
+	 * @param sequences The sequences in the atlas by name
+	 */
+	public void exportAtlas(Map<String, JsonSequence> sequences) {
+		writeJson(sequences, "src/main/resources/img/atlas/atlas.json");
+	}
+
+	/**
+	 * Open a text file from the resources to be read
+	 *
+	 * @param path The path to the resource
+	 * @return Returns a reader for the file, or null if it could not be found
+	 */
+	private Reader getResourceReader(String path) {
+		InputStream inputStream = getClass().getResourceAsStream(path);
+		if (inputStream == null) {
+			logger.warning("Resource not found: " + path);
+			return null;
+		}
+		return new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+	}
+
 	/**
 	 * Export the game cells to a JSON ready object then write it to a file
 	 *
-	 * @param cells The cells of the scene to export
+	 * @param grid The cells of the scene to export
 	 */
-	public void exportScene(CopyOnWriteArrayList<CopyOnWriteArrayList<Cell>> cells) {
-		JsonCell[][] jsonCells = new JsonCell[cells.size()][cells.get(0).size()];
-		for (int x = 0; x < cells.size(); x++) {
-			for (int y = 0; y < cells.get(x).size(); y++) {
+	public void exportScene(Grid grid) {
+		JsonCell[][] jsonCells = new JsonCell[grid.getWidth()][grid.getHeight()];
+		for (int x = 0; x < grid.getWidth(); x++) {
+			for (int y = 0; y < grid.getHeight(); y++) {
+				Cell cell = grid.getCell(x, y);
 				jsonCells[x][y] = new JsonCell();
-				if (cells.get(x).get(y).getObject() != null) {
-					jsonCells[x][y].type = cells.get(x).get(y).getObject().getClass().getName();
-				}
-				else {
-					jsonCells[x][y].type = "null";
-				}
-				jsonCells[x][y].textures = cells.get(x).get(y).getTextureNumbers();
+				jsonCells[x][y].type = JsonCell.Type.fromObject(cell.getObject());
+				jsonCells[x][y].textures = cell.getTextureNumbers();
 			}
 		}
-		writeScene(jsonCells);
+		writeJson(jsonCells, "src/main/resources/scene.json");
 	}
 
 	/**
-	 * Write the JSON scene to a file
+	 * Write a JSON object to a file
 	 *
-	 * @param jsonCells The JSON cells object
+	 * @param jsonObject The JSON object
+	 * @param path       The path of the file to write
 	 */
-	private void writeScene(JsonCell[][] jsonCells) {
+	private void writeJson(Object jsonObject, String path) {
 		GsonBuilder gsonBuilder;
 		if (PRETTY_JSON) {
 			gsonBuilder = new GsonBuilder().setPrettyPrinting();
@@ -78,9 +225,9 @@ public class Json implements Constants {
 			gsonBuilder = new GsonBuilder();
 		}
 		Gson gson = gsonBuilder.create();
-		String json = gson.toJson(jsonCells);
+		String json = gson.toJson(jsonObject);
 
-		File file = new File("src/main/resources/scene.json");
+		File file = new File(path);
 		try {
 			FileOutputStream fileOutputStream = new FileOutputStream(file);
 			fileOutputStream.write(json.getBytes());
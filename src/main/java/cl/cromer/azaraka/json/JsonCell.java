@@ -15,7 +15,11 @@
 
 package cl.cromer.azaraka.json;
 
+import com.google.gson.annotations.SerializedName;
+
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * This class represents the structure of a cell in JSON
@@ -24,9 +28,112 @@ public class JsonCell {
 	/**
 	 * The type of cell, e.g. player, chest, enemy, etc
 	 */
-	public String type;
+	public Type type = Type.NULL;
 	/**
 	 * A list of the textures to apply to the cell
 	 */
 	public ArrayList<Integer> textures = new ArrayList<>();
+
+	/**
+	 * The types of objects a cell can have, in the JSON they are written with the name of the class of the object
+	 */
+	public enum Type {
+		/**
+		 * The cell is empty
+		 */
+		@SerializedName("null")
+		NULL("null"),
+		/**
+		 * The player
+		 */
+		@SerializedName("cl.cromer.azaraka.object.Player")
+		PLAYER("cl.cromer.azaraka.object.Player"),
+		/**
+		 * An enemy
+		 */
+		@SerializedName("cl.cromer.azaraka.object.Enemy")
+		ENEMY("cl.cromer.azaraka.object.Enemy"),
+		/**
+		 * A chest
+		 */
+		@SerializedName("cl.cromer.azaraka.object.Chest")
+		CHEST("cl.cromer.azaraka.object.Chest"),
+		/**
+		 * A gem
+		 */
+		@SerializedName("cl.cromer.azaraka.object.Gem")
+		GEM("cl.cromer.azaraka.object.Gem"),
+		/**
+		 * A key
+		 */
+		@SerializedName("cl.cromer.azaraka.object.Key")
+		KEY("cl.cromer.azaraka.object.Key"),
+		/**
+		 * An obstacle
+		 */
+		@SerializedName("cl.cromer.azaraka.object.Obstacle")
+		OBSTACLE("cl.cromer.azaraka.object.Obstacle"),
+		/**
+		 * The portal
+		 */
+		@SerializedName("cl.cromer.azaraka.object.Portal")
+		PORTAL("cl.cromer.azaraka.object.Portal");
+
+		/**
+		 * The types by the name used in the JSON
+		 */
+		private static final Map<String, Type> TYPES = new HashMap<>();
+
+		static {
+			for (Type type : values()) {
+				TYPES.put(type.name, type);
+			}
+		}
+
+		/**
+		 * The name used in the JSON
+		 */
+		private final String name;
+
+		/**
+		 * Initialize the type
+		 *
+		 * @param name The name used in the JSON
+		 */
+		Type(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * Get the type that has a name
+		 *
+		 * @param name The name used in the JSON
+		 * @return Returns the type or null if there is no type with that name
+		 */
+		public static Type fromName(String name) {
+			return TYPES.get(name);
+		}
+
+		/**
+		 * Get the type of an object
+		 *
+		 * @param object The object, or null for an empty cell
+		 * @return Returns the type or null if the object can't be saved in JSON
+		 */
+		public static Type fromObject(Object object) {
+			if (object == null) {
+				return NULL;
+			}
+			return fromName(object.getClass().getName());
+		}
+
+		/**
+		 * Get the name used in the JSON
+		 *
+		 * @return Returns the name
+		 */
+		public String getName() {
+			return name;
+		}
+	}
 }
\ No newline at end of file
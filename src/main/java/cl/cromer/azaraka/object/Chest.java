@@ -21,6 +21,7 @@ import cl.cromer.azaraka.Scene;
 import cl.cromer.azaraka.sound.Sound;
 import cl.cromer.azaraka.sound.SoundException;
 import cl.cromer.azaraka.sprite.Animation;
+import cl.cromer.azaraka.sprite.AssetCache;
 import cl.cromer.azaraka.sprite.AnimationException;
 import cl.cromer.azaraka.sprite.Sheet;
 import cl.cromer.azaraka.sprite.SheetException;
@@ -63,7 +64,7 @@ public class Chest extends Object implements Constants {
 	 * Load the chest animation
 	 */
 	private void loadChestAnimation() {
-		Sheet chestSheet = new Sheet("/img/chest/chests.png", 54, 63);
+		Sheet chestSheet = AssetCache.getInstance().getSheet("/img/chest/chests.png", 54, 63);
 		try {
 			Animation animation = new Animation();
 			animation.addImage(Animation.Direction.NONE, chestSheet.getTexture(54));
@@ -71,6 +72,8 @@ public class Chest extends Object implements Constants {
 			animation.addImage(Animation.Direction.NONE, chestSheet.getTexture(78));
 			animation.addImage(Animation.Direction.NONE, chestSheet.getTexture(80));
 			animation.setYOffset(0);
+			// The chest opens once and stays open, the frames only play when it starts opening
+			animation.setFrameTicks(this::getTicks, 10, false);
 			setAnimation(animation);
 		}
 		catch (SheetException e) {
@@ -96,6 +99,7 @@ public class Chest extends Object implements Constants {
 		this.state = state;
 		if (state == State.OPENING) {
 			getLogger().info("Chest is opening");
+			getAnimation().play();
 			playChestOpenSound();
 		}
 		else if (state == State.OPENED) {
@@ -103,13 +107,14 @@ public class Chest extends Object implements Constants {
 		}
 		else if (state == State.CLOSED) {
 			getLogger().info("Chest is closed");
+			getAnimation().stop();
 			try {
 				getAnimation().setCurrentFrame(0);
 			}
 			catch (AnimationException e) {
 				getLogger().warning(e.getMessage());
 			}
-			getScene().getCanvas().repaint();
+			getScene().getGame().repaint();
 		}
 	}
 
@@ -135,8 +140,11 @@ public class Chest extends Object implements Constants {
 	 * Play the chest opening sound
 	 */
 	private void playChestOpenSound() {
+		if (sound == null) {
+			return;
+		}
 		try {
-			sound.setVolume(getScene().getCanvas().getVolume());
+			sound.setVolume(getScene().getGame().getVolume());
 			sound.play();
 		}
 		catch (SoundException e) {
@@ -154,54 +162,44 @@ public class Chest extends Object implements Constants {
 	}
 
 	/**
-	 * Animate the chest opening
+	 * The chest is updated every 10 ticks
+	 *
+	 * @return Returns the number of ticks between updates
 	 */
-	private void animate() {
-		try {
-			getAnimation().getNextFrame();
-			if (getAnimation().getCurrentFrame() == getAnimation().getFrameCount() - 1) {
-				setState(State.OPENED);
-			}
-		}
-		catch (AnimationException e) {
-			getLogger().warning(e.getMessage());
-		}
+	@Override
+	public int getUpdateTicks() {
+		return 10;
 	}
 
 	/**
-	 * This method is run when the thread starts
+	 * Check if the chest finished opening and move the gem to the inventory once it is open
 	 */
 	@Override
-	public void run() {
-		super.run();
-		while (getActive()) {
-			try {
-				Thread.sleep(200);
-			}
-			catch (InterruptedException e) {
-				getLogger().info(e.getMessage());
-			}
-			synchronized (this) {
-				if (state == State.OPENED) {
-					if (gem != null) {
-						if (gemLoops > 0) {
-							gemLoops--;
-						}
-						else if (gemLoops == 0) {
-							gem.getCell().setObjectOnTop(null);
-							gem.setYScale(24);
-							gem.setXScale(24);
-							gem.setUseOffset(false);
-							gemLoops--;
-						}
-					}
+	public void update() {
+		if (state == State.OPENED) {
+			if (gem != null) {
+				if (gemLoops > 0) {
+					gemLoops--;
 				}
-				else if (state == State.OPENING) {
-					animate();
-					getScene().getCanvas().repaint();
+				else if (gemLoops == 0) {
+					gem.getCell().setObjectOnTop(null);
+					gem.setYScale(24);
+					gem.setXScale(24);
+					gem.setUseOffset(false);
+					gemLoops--;
 				}
 			}
 		}
+		else if (state == State.OPENING) {
+			try {
+				if (getAnimation().isFinished()) {
+					setState(State.OPENED);
+				}
+			}
+			catch (AnimationException e) {
+				getLogger().warning(e.getMessage());
+			}
+		}
 	}
 
 	/**
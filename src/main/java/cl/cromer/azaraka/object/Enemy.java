@@ -23,18 +23,11 @@ import cl.cromer.azaraka.sound.Sound;
 import cl.cromer.azaraka.sound.SoundException;
 import cl.cromer.azaraka.sprite.Animation;
 import cl.cromer.azaraka.sprite.AnimationException;
-import cl.cromer.azaraka.sprite.SheetException;
-
-import java.util.concurrent.locks.Lock;
 
 /**
  * This class handles the enemy object
  */
 public class Enemy extends Object implements Constants {
-	/**
-	 * The lock helps prevent race conditions when checking positioning
-	 */
-	private final Lock lock;
 	/**
 	 * The artificial intelligence of the player
 	 */
@@ -53,12 +46,10 @@ public class Enemy extends Object implements Constants {
 	 *
 	 * @param scene The scene the enemy is in
 	 * @param cell  The cell this enemy is in
-	 * @param lock  The lock used to prevent the threads from conflicting
 	 */
-	public Enemy(Scene scene, Cell cell, Lock lock) {
+	public Enemy(Scene scene, Cell cell) {
 		super(scene, cell);
 		setLogger(getLogger(this.getClass(), LogLevel.ENEMY));
-		this.lock = lock;
 		loadEnemyAnimation();
 		ai = new EnemyAI(scene, this);
 	}
@@ -83,8 +74,11 @@ public class Enemy extends Object implements Constants {
 	 * Play the attack sound
 	 */
 	private void playAttackSound() {
+		if (sound == null) {
+			return;
+		}
 		try {
-			sound.setVolume(getScene().getCanvas().getVolume());
+			sound.setVolume(getScene().getGame().getVolume());
 			sound.play();
 		}
 		catch (SoundException e) {
@@ -113,6 +107,25 @@ public class Enemy extends Object implements Constants {
 		}
 	}
 
+	/**
+	 * Move the enemy one cell in a direction, this is used by the AI and the replays
+	 *
+	 * @param direction The direction to move in
+	 * @return Returns true if it was moved
+	 */
+	public boolean move(Direction direction) {
+		switch (direction) {
+			case UP:
+				return moveUp();
+			case DOWN:
+				return moveDown();
+			case LEFT:
+				return moveLeft();
+			default:
+				return moveRight();
+		}
+	}
+
 	/**
 	 * This method handles the enemy's movements
 	 */
@@ -152,11 +165,12 @@ public class Enemy extends Object implements Constants {
 	public boolean moveUp() {
 		int x = getX();
 		int y = getY();
-		if (y > 0 && getScene().getCells().get(x).get(y - 1).getObject() == null) {
+		if (y > 0 && getScene().getCell(x, y - 1).getObject() == null) {
 			super.moveUp();
+			getScene().getEnemyInfluence().moveEnemy(x, y, x, y - 1);
 			getLogger().info("Move up to x: " + x + " y: " + y);
 		}
-		else if (y > 0 && getScene().getCells().get(x).get(y - 1).getObject() instanceof Player) {
+		else if (y > 0 && getScene().getCell(x, y - 1).getObject() instanceof Player) {
 			if (changeDirection(Animation.Direction.UP)) {
 				try {
 					getAnimation().getNextFrame();
@@ -190,11 +204,12 @@ public class Enemy extends Object implements Constants {
 	public boolean moveDown() {
 		int x = getX();
 		int y = getY();
-		if (y < (VERTICAL_CELLS) - 1 && getScene().getCells().get(x).get(y + 1).getObject() == null) {
+		if (y < (VERTICAL_CELLS) - 1 && getScene().getCell(x, y + 1).getObject() == null) {
 			super.moveDown();
+			getScene().getEnemyInfluence().moveEnemy(x, y, x, y + 1);
 			getLogger().info("Move down to x: " + x + " y: " + y);
 		}
-		else if (y < (VERTICAL_CELLS - 1) && getScene().getCells().get(x).get(y + 1).getObject() instanceof Player) {
+		else if (y < (VERTICAL_CELLS - 1) && getScene().getCell(x, y + 1).getObject() instanceof Player) {
 			if (changeDirection(Animation.Direction.DOWN)) {
 				try {
 					getAnimation().getNextFrame();
@@ -228,11 +243,12 @@ public class Enemy extends Object implements Constants {
 	public boolean moveLeft() {
 		int x = getX();
 		int y = getY();
-		if (x > 0 && getScene().getCells().get(x - 1).get(y).getObject() == null) {
+		if (x > 0 && getScene().getCell(x - 1, y).getObject() == null) {
 			super.moveLeft();
+			getScene().getEnemyInfluence().moveEnemy(x, y, x - 1, y);
 			getLogger().info("Move left to x: " + x + " y: " + y);
 		}
-		else if (x > 0 && getScene().getCells().get(x - 1).get(y).getObject() instanceof Player) {
+		else if (x > 0 && getScene().getCell(x - 1, y).getObject() instanceof Player) {
 			if (changeDirection(Animation.Direction.LEFT)) {
 				try {
 					getAnimation().getNextFrame();
@@ -266,11 +282,12 @@ public class Enemy extends Object implements Constants {
 	public boolean moveRight() {
 		int x = getX();
 		int y = getY();
-		if (x < (HORIZONTAL_CELLS - 1) && getScene().getCells().get(x + 1).get(y).getObject() == null) {
+		if (x < (HORIZONTAL_CELLS - 1) && getScene().getCell(x + 1, y).getObject() == null) {
 			super.moveRight();
+			getScene().getEnemyInfluence().moveEnemy(x, y, x + 1, y);
 			getLogger().info("Move right to x: " + x + " y: " + y);
 		}
-		else if (x < (HORIZONTAL_CELLS - 1) && getScene().getCells().get(x + 1).get(y).getObject() instanceof Player) {
+		else if (x < (HORIZONTAL_CELLS - 1) && getScene().getCell(x + 1, y).getObject() instanceof Player) {
 			if (changeDirection(Animation.Direction.RIGHT)) {
 				try {
 					getAnimation().getNextFrame();
@@ -302,20 +319,15 @@ public class Enemy extends Object implements Constants {
 	 * @param y The y position of the player
 	 */
 	private void attackPlayer(int x, int y) {
-		if (getScene().getCanvas().getPlayer().getHealth() > 0) {
+		if (getScene().getGame().getPlayer().getHealth() > 0) {
 
 			getLogger().info("Attacked player at x: " + x + " y: " + y);
 
 			playAttackSound();
 
-			getScene().getCanvas().getPlayer().loseHealth(2);
-			try {
-				getScene().getCells().get(x).get(y).addTexture(getScene().getTextureSheet().getTexture(12), 12);
-			}
-			catch (SheetException e) {
-				getLogger().warning(e.getMessage());
-			}
-			getScene().getCanvas().getPlayer().attacked();
+			getScene().getGame().getPlayer().loseHealth(2);
+			getScene().getCell(x, y).addTexture(12);
+			getScene().getGame().getPlayer().attacked();
 
 			if (!ENEMY_AI) {
 				if (direction == Direction.UP) {
@@ -348,25 +360,22 @@ public class Enemy extends Object implements Constants {
 	}
 
 	/**
-	 * This method is run constantly by the runnable
+	 * The enemy moves every 25 ticks
+	 *
+	 * @return Returns the number of ticks between updates
 	 */
-	public void run() {
-		super.run();
-		while (getActive()) {
-			try {
-				Thread.sleep(500);
-			}
-			catch (InterruptedException e) {
-				getLogger().info(e.getMessage());
-			}
-			synchronized (this) {
-				lock.lock();
-				if (!ENEMY_AI) {
-					move();
-				}
-				getScene().getCanvas().repaint();
-				lock.unlock();
-			}
+	@Override
+	public int getUpdateTicks() {
+		return 25;
+	}
+
+	/**
+	 * Move the enemy if it isn't controlled by AI
+	 */
+	@Override
+	public void update() {
+		if (!ENEMY_AI) {
+			move();
 		}
 	}
 
@@ -22,6 +22,9 @@ import cl.cromer.azaraka.sound.SoundException;
 import cl.cromer.azaraka.sprite.Animation;
 import cl.cromer.azaraka.sprite.AnimationException;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * This class contains the gem
  */
@@ -64,32 +67,43 @@ public class Gem extends Object {
 	private void loadGemAnimation(Type type) {
 		if (type == null) {
 			taintedAnimation = new Animation();
-			for (int i = 0; i <= 6; i++) {
-				String string = i + ".png";
-				taintedAnimation.addImage(Animation.Direction.NONE, "/img/gem/gray/" + string);
-			}
+			taintedAnimation.addImages(Animation.Direction.NONE, "gem/gray");
 			taintedAnimation.setYOffset(32);
+			taintedAnimation.setFrameTicks(this::getTicks, 3, true);
+			taintedAnimation.play();
 		}
 		else {
 			switch (type) {
 				case LIFE:
 					purifiedAnimation = new Animation();
-					for (int i = 0; i <= 6; i++) {
-						String string = i + ".png";
-						purifiedAnimation.addImage(Animation.Direction.NONE, "/img/gem/blue/" + string);
-					}
+					purifiedAnimation.addImages(Animation.Direction.NONE, "gem/blue");
+					purifiedAnimation.setFrameTicks(this::getTicks, 3, true);
+					purifiedAnimation.play();
 					break;
 				case DEATH:
 					purifiedAnimation = new Animation();
-					for (int i = 0; i <= 6; i++) {
-						String string = i + ".png";
-						purifiedAnimation.addImage(Animation.Direction.NONE, "/img/gem/red/" + string);
-					}
+					purifiedAnimation.addImages(Animation.Direction.NONE, "gem/red");
+					purifiedAnimation.setFrameTicks(this::getTicks, 3, true);
+					purifiedAnimation.play();
 					break;
 			}
 		}
 	}
 
+	/**
+	 * Get the paths to the frames of a gem animation, they are packed into the texture atlas
+	 *
+	 * @param colour The colour of the gem, gray when it is tainted, blue for life or red for death
+	 * @return Returns the paths in the order of the frames
+	 */
+	public static List<String> getFramePaths(String colour) {
+		List<String> paths = new ArrayList<>();
+		for (int i = 0; i <= 6; i++) {
+			paths.add("/img/gem/" + colour + "/" + i + ".png");
+		}
+		return paths;
+	}
+
 	/**
 	 * Get the width of the gem animation
 	 *
@@ -118,8 +132,11 @@ public class Gem extends Object {
 	 * Play the gem sound
 	 */
 	public void playGemSound() {
+		if (sound == null) {
+			return;
+		}
 		try {
-			sound.setVolume(getScene().getCanvas().getVolume());
+			sound.setVolume(getScene().getGame().getVolume());
 			sound.play();
 		}
 		catch (SoundException e) {
@@ -174,38 +191,6 @@ public class Gem extends Object {
 		}
 	}
 
-	/**
-	 * This method animates the gem
-	 */
-	private void animate() {
-		try {
-			getAnimation().getNextFrame();
-		}
-		catch (AnimationException e) {
-			getLogger().warning(e.getMessage());
-		}
-	}
-
-	/**
-	 * This method is run when the thread starts
-	 */
-	@Override
-	public void run() {
-		super.run();
-		while (getActive()) {
-			try {
-				Thread.sleep(60);
-			}
-			catch (InterruptedException e) {
-				getLogger().info(e.getMessage());
-			}
-			synchronized (this) {
-				animate();
-				getScene().getCanvas().repaint();
-			}
-		}
-	}
-
 	/**
 	 * The type of gem
 	 */
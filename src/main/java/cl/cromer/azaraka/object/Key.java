@@ -22,6 +22,7 @@ import cl.cromer.azaraka.ai.AIException;
 import cl.cromer.azaraka.sound.Sound;
 import cl.cromer.azaraka.sound.SoundException;
 import cl.cromer.azaraka.sprite.Animation;
+import cl.cromer.azaraka.sprite.AssetCache;
 import cl.cromer.azaraka.sprite.AnimationException;
 import cl.cromer.azaraka.sprite.Sheet;
 import cl.cromer.azaraka.sprite.SheetException;
@@ -55,7 +56,7 @@ public class Key extends Object implements Constants {
 	 * Load the key animation
 	 */
 	private void loadKeyAnimation() {
-		Sheet keySheet = new Sheet("/img/key/key.png", 24, 24);
+		Sheet keySheet = AssetCache.getInstance().getSheet("/img/key/key.png", 24, 24);
 		Animation animation = new Animation();
 		try {
 			animation.addImage(Animation.Direction.NONE, keySheet.getTexture(0));
@@ -66,6 +67,8 @@ public class Key extends Object implements Constants {
 			animation.addImage(Animation.Direction.NONE, keySheet.getTexture(5));
 			animation.addImage(Animation.Direction.NONE, keySheet.getTexture(6));
 			animation.addImage(Animation.Direction.NONE, keySheet.getTexture(7));
+			animation.setFrameTicks(this::getTicks, 5, true);
+			animation.play();
 			setAnimation(animation);
 		}
 		catch (SheetException e) {
@@ -88,12 +91,31 @@ public class Key extends Object implements Constants {
 		return 0;
 	}
 
+	/**
+	 * Stop the animation on the frame the key rests on, this is done when the game ends
+	 */
+	public void stopAnimation() {
+		if (getAnimation() == null) {
+			return;
+		}
+		getAnimation().stop();
+		try {
+			getAnimation().setCurrentFrame(4);
+		}
+		catch (AnimationException e) {
+			getLogger().warning(e.getMessage());
+		}
+	}
+
 	/**
 	 * Play the get key sound
 	 */
 	public void playGetKeySound() {
+		if (sound == null) {
+			return;
+		}
 		try {
-			sound.setVolume(getScene().getCanvas().getVolume());
+			sound.setVolume(getScene().getGame().getVolume());
 			sound.play();
 		}
 		catch (SoundException e) {
@@ -118,8 +140,8 @@ public class Key extends Object implements Constants {
 		getCell().setObjectOnBottom(null);
 		setState(State.HELD);
 		try {
-			if (getScene().getCanvas().getPlayer().getAi() != null) {
-				getScene().getCanvas().getPlayer().getAi().removeKeyDestination(getCell().getX(), getCell().getY());
+			if (getScene().getGame().getPlayer().getAi() != null) {
+				getScene().getGame().getPlayer().getAi().removeKeyDestination(getCell().getX(), getCell().getY());
 			}
 		}
 		catch (AIException e) {
@@ -151,47 +173,6 @@ public class Key extends Object implements Constants {
 		this.state = state;
 	}
 
-	/**
-	 * This method animates the portal
-	 */
-	private void animate() {
-		try {
-			getAnimation().getNextFrame();
-		}
-		catch (AnimationException e) {
-			getLogger().warning(e.getMessage());
-		}
-	}
-
-	/**
-	 * This is run when the thread starts
-	 */
-	@Override
-	public void run() {
-		super.run();
-		while (getActive()) {
-			try {
-				Thread.sleep(100);
-			}
-			catch (InterruptedException e) {
-				getLogger().info(e.getMessage());
-			}
-			synchronized (this) {
-				animate();
-				getScene().getCanvas().repaint();
-			}
-		}
-		// The thread was killed, set the animation to frame 4
-		try {
-			if (getAnimation().getCurrentFrame() != 4) {
-				getAnimation().setCurrentFrame(4);
-			}
-		}
-		catch (AnimationException e) {
-			getLogger().warning(e.getMessage());
-		}
-	}
-
 	/**
 	 * Check what position the key is located at
 	 *
@@ -18,7 +18,9 @@ package cl.cromer.azaraka.object;
 import cl.cromer.azaraka.Cell;
 import cl.cromer.azaraka.Constants;
 import cl.cromer.azaraka.Scene;
+import cl.cromer.azaraka.Updatable;
 import cl.cromer.azaraka.sprite.Animation;
+import cl.cromer.azaraka.sprite.AssetCache;
 import cl.cromer.azaraka.sprite.AnimationException;
 import cl.cromer.azaraka.sprite.Sheet;
 import cl.cromer.azaraka.sprite.SheetException;
@@ -30,7 +32,7 @@ import java.util.logging.Logger;
 /**
  * All game objects extend this class
  */
-public class Object implements Runnable, Constants {
+public class Object implements Updatable, Constants {
 	/**
 	 * The scene the object is in
 	 */
@@ -59,10 +61,6 @@ public class Object implements Runnable, Constants {
 	 * The logger
 	 */
 	private Logger logger;
-	/**
-	 * Whether or not the run loop of the object is active
-	 */
-	private boolean active;
 	/**
 	 * x scale
 	 */
@@ -71,6 +69,10 @@ public class Object implements Runnable, Constants {
 	 * y scale
 	 */
 	private int yScale = 0;
+	/**
+	 * The frame that was drawn last, used to know if the object has to be drawn again
+	 */
+	private BufferedImage drawnFrame;
 
 	/**
 	 * Initialize the object
@@ -127,6 +129,7 @@ public class Object implements Runnable, Constants {
 	 * @param x The amount of pixels to scale
 	 */
 	protected void setXScale(@SuppressWarnings("SameParameterValue") int x) {
+		drawnFrame = null;
 		this.xScale = x;
 	}
 
@@ -136,6 +139,7 @@ public class Object implements Runnable, Constants {
 	 * @param y The amount of pixels to scale
 	 */
 	protected void setYScale(@SuppressWarnings("SameParameterValue") int y) {
+		drawnFrame = null;
 		this.yScale = y;
 	}
 
@@ -148,6 +152,18 @@ public class Object implements Runnable, Constants {
 		return scene;
 	}
 
+	/**
+	 * Get the number of ticks the game has been played, this is the clock the timed animations use
+	 *
+	 * @return Returns the ticks, or 0 if the object is not in a game
+	 */
+	protected long getTicks() {
+		if (scene == null || scene.getGame() == null) {
+			return 0;
+		}
+		return scene.getGame().getTicks();
+	}
+
 	/**
 	 * Get the cell the object is in
 	 *
@@ -200,7 +216,7 @@ public class Object implements Runnable, Constants {
 	 * @param character The character number
 	 */
 	protected void loadCharacter(String path, int character) {
-		Sheet characterSheet = new Sheet(path, 54, 39);
+		Sheet characterSheet = AssetCache.getInstance().getSheet(path, 54, 39);
 		try {
 			Animation animation = new Animation();
 			animation.setCurrentDirection(Animation.Direction.DOWN);
@@ -241,6 +257,7 @@ public class Object implements Runnable, Constants {
 					// No animation, so don't draw anything
 					return;
 				}
+				drawnFrame = frame;
 
 				int xOffset = animation.getXOffset();
 				int yOffset = animation.getYOffset();
@@ -253,7 +270,7 @@ public class Object implements Runnable, Constants {
 					else if (yScale == 0) {
 						yScale = frame.getHeight();
 					}
-					frame = Animation.scaleImage(frame, xScale, yScale);
+					frame = animation.getScaledFrame(xScale, yScale);
 
 					if (frame.getWidth() == CELL_PIXELS) {
 						xOffset = 0;
@@ -283,6 +300,21 @@ public class Object implements Runnable, Constants {
 		}
 	}
 
+	/**
+	 * Check if the frame of the animation changed since the object was last drawn
+	 *
+	 * @return Returns true if the object needs to be drawn again
+	 */
+	public boolean hasFrameChanged() {
+		try {
+			return animation != null && animation.getFrame() != drawnFrame;
+		}
+		catch (AnimationException e) {
+			logger.warning(e.getMessage());
+			return true;
+		}
+	}
+
 	/**
 	 * Move the object up one cell
 	 *
@@ -290,7 +322,7 @@ public class Object implements Runnable, Constants {
 	 */
 	protected boolean moveUp() {
 		getCell().setObject(null);
-		setCell(getScene().getCells().get(x).get(y - 1));
+		setCell(getScene().getCell(x, y - 1));
 		getCell().setObject(this);
 
 		if (changeDirection(Animation.Direction.UP)) {
@@ -313,7 +345,7 @@ public class Object implements Runnable, Constants {
 	 */
 	protected boolean moveDown() {
 		getCell().setObject(null);
-		setCell(getScene().getCells().get(x).get(y + 1));
+		setCell(getScene().getCell(x, y + 1));
 		getCell().setObject(this);
 
 		if (changeDirection(Animation.Direction.DOWN)) {
@@ -336,7 +368,7 @@ public class Object implements Runnable, Constants {
 	 */
 	protected boolean moveLeft() {
 		getCell().setObject(null);
-		setCell(getScene().getCells().get(x - 1).get(y));
+		setCell(getScene().getCell(x - 1, y));
 		getCell().setObject(this);
 
 		if (changeDirection(Animation.Direction.LEFT)) {
@@ -359,7 +391,7 @@ public class Object implements Runnable, Constants {
 	 */
 	protected boolean moveRight() {
 		getCell().setObject(null);
-		setCell(getScene().getCells().get(x + 1).get(y));
+		setCell(getScene().getCell(x + 1, y));
 		getCell().setObject(this);
 
 		if (changeDirection(Animation.Direction.RIGHT)) {
@@ -410,28 +442,20 @@ public class Object implements Runnable, Constants {
 	}
 
 	/**
-	 * Get the active state of the GameObject
+	 * Get the number of ticks between updates of the object
 	 *
-	 * @return Returns true if the object is active or false otherwise
+	 * @return Returns the number of ticks, 0 if the object is never updated
 	 */
-	protected boolean getActive() {
-		return active;
-	}
-
-	/**
-	 * Set the active state for the GameObject loop
-	 *
-	 * @param active Set to true to have the run method loop run indefinitely or false to stop the loop
-	 */
-	public void setActive(boolean active) {
-		this.active = active;
+	@Override
+	public int getUpdateTicks() {
+		return 0;
 	}
 
 	/**
-	 * The run method
+	 * Update the object, this is called by the game loop
 	 */
 	@Override
-	public void run() {
-		setActive(true);
+	public void update() {
+		// Objects that are not in the game loop don't do anything
 	}
-}
+}
\ No newline at end of file
@@ -17,10 +17,13 @@ package cl.cromer.azaraka.object;
 
 import cl.cromer.azaraka.Cell;
 import cl.cromer.azaraka.Constants;
+import cl.cromer.azaraka.GameSettings;
 import cl.cromer.azaraka.Scene;
 import cl.cromer.azaraka.ai.AI;
 import cl.cromer.azaraka.ai.PlayerAStarAI;
 import cl.cromer.azaraka.ai.PlayerBreadthFirstAI;
+import cl.cromer.azaraka.ai.PlayerDStarLiteAI;
+import cl.cromer.azaraka.ai.PlayerMultiGoalAI;
 import cl.cromer.azaraka.sprite.Animation;
 import cl.cromer.azaraka.sprite.AnimationException;
 
@@ -48,10 +51,6 @@ public class Player extends Object implements Constants {
 	 * The current health of the player
 	 */
 	private int health = MAX_HEALTH;
-	/**
-	 * The Player instance
-	 */
-	private static Player instance;
 
 	/**
 	 * Initialize the player
@@ -59,46 +58,37 @@ public class Player extends Object implements Constants {
 	 * @param scene The scene the player is in
 	 * @param cell  The cell the player is in
 	 */
-	private Player(Scene scene, Cell cell) {
+	public Player(Scene scene, Cell cell) {
 		super(scene, cell);
 		setLogger(getLogger(this.getClass(), LogLevel.PLAYER));
 		loadPlayerAnimation();
-		switch (PLAYER_AI) {
+		GameSettings settings;
+		if (scene != null) {
+			settings = scene.getGame().getSettings();
+		}
+		else {
+			settings = new GameSettings();
+		}
+		switch (settings.getPlayerAI()) {
 			case ASTAR:
 				ai = new PlayerAStarAI(scene, this);
 				break;
 			case BFS:
 				ai = new PlayerBreadthFirstAI(scene, this);
 				break;
+			case DSTAR_LITE:
+				ai = new PlayerDStarLiteAI(scene, this);
+				break;
+			case MULTI_GOAL:
+				ai = new PlayerMultiGoalAI(scene, this);
+				break;
 			default:
 				ai = null;
 				break;
 		}
-	}
-
-	/**
-	 * Create the Player instance
-	 *
-	 * @param scene The scene the player is in
-	 * @param cell  The cell the player is in
-	 * @return Returns the instance
-	 */
-	public static Player getInstance(Scene scene, Cell cell) {
-		if (instance == null) {
-			synchronized (Player.class) {
-				if (instance == null) {
-					instance = new Player(scene, cell);
-				}
-			}
+		if (ai != null) {
+			ai.setHeuristic(settings.getAIHeuristic());
 		}
-		return instance;
-	}
-
-	/**
-	 * Delete the Player instance
-	 */
-	public void deleteInstance() {
-		instance = null;
 	}
 
 	/**
@@ -170,16 +160,16 @@ public class Player extends Object implements Constants {
 		int y = getY();
 		getLogger().info("Up key pressed");
 		if (x == 2 && y == 0) {
-			if (getScene().getCanvas().getGameStatus()) {
-				getScene().getCanvas().win();
+			if (getScene().getGame().getGameStatus()) {
+				getScene().getGame().win();
 			}
 		}
 		else if (y > 0) {
-			Object type = getScene().getCells().get(x).get(y - 1).getObject();
+			Object type = getScene().getCell(x, y - 1).getObject();
 			if (type == null) {
-				Object typeBottom = getScene().getCells().get(x).get(y - 1).getObjectOnBottom();
+				Object typeBottom = getScene().getCell(x, y - 1).getObjectOnBottom();
 				if (typeBottom instanceof Key) {
-					for (Key key : getScene().getCanvas().getKeys()) {
+					for (Key key : getScene().getGame().getKeys()) {
 						if (key.checkPosition(x, y - 1)) {
 							// Get the key
 							getKey(key);
@@ -188,7 +178,7 @@ public class Player extends Object implements Constants {
 					}
 				}
 				else if (typeBottom instanceof Portal) {
-					getScene().getCanvas().getPortal().purifyGems();
+					getScene().getGame().getPortal().purifyGems();
 				}
 
 				super.moveUp();
@@ -230,11 +220,11 @@ public class Player extends Object implements Constants {
 		int y = getY();
 		getLogger().info("Down key pressed");
 		if (y < (VERTICAL_CELLS - 1)) {
-			Object type = getScene().getCells().get(x).get(y + 1).getObject();
+			Object type = getScene().getCell(x, y + 1).getObject();
 			if (type == null) {
-				Object typeBottom = getScene().getCells().get(x).get(y + 1).getObjectOnBottom();
+				Object typeBottom = getScene().getCell(x, y + 1).getObjectOnBottom();
 				if (typeBottom instanceof Key) {
-					for (Key key : getScene().getCanvas().getKeys()) {
+					for (Key key : getScene().getGame().getKeys()) {
 						if (key.checkPosition(x, y + 1)) {
 							// Get the key
 							getKey(key);
@@ -243,7 +233,7 @@ public class Player extends Object implements Constants {
 					}
 				}
 				else if (typeBottom instanceof Portal) {
-					getScene().getCanvas().getPortal().purifyGems();
+					getScene().getGame().getPortal().purifyGems();
 				}
 
 				super.moveDown();
@@ -285,11 +275,11 @@ public class Player extends Object implements Constants {
 		int y = getY();
 		getLogger().info("Left key pressed");
 		if (x > 0) {
-			Object type = getScene().getCells().get(x - 1).get(y).getObject();
+			Object type = getScene().getCell(x - 1, y).getObject();
 			if (type == null) {
-				Object typeBottom = getScene().getCells().get(x - 1).get(y).getObjectOnBottom();
+				Object typeBottom = getScene().getCell(x - 1, y).getObjectOnBottom();
 				if (typeBottom instanceof Key) {
-					for (Key key : getScene().getCanvas().getKeys()) {
+					for (Key key : getScene().getGame().getKeys()) {
 						if (key.checkPosition(x - 1, y)) {
 							// Get the key
 							getKey(key);
@@ -298,7 +288,7 @@ public class Player extends Object implements Constants {
 					}
 				}
 				else if (typeBottom instanceof Portal) {
-					getScene().getCanvas().getPortal().purifyGems();
+					getScene().getGame().getPortal().purifyGems();
 				}
 
 				super.moveLeft();
@@ -340,11 +330,11 @@ public class Player extends Object implements Constants {
 		int y = getY();
 		getLogger().info("Right key pressed");
 		if (x < (HORIZONTAL_CELLS - 1)) {
-			Object type = getScene().getCells().get(x + 1).get(y).getObject();
+			Object type = getScene().getCell(x + 1, y).getObject();
 			if (type == null) {
-				Object typeBottom = getScene().getCells().get(x + 1).get(y).getObjectOnBottom();
+				Object typeBottom = getScene().getCell(x + 1, y).getObjectOnBottom();
 				if (typeBottom instanceof Key) {
-					for (Key key : getScene().getCanvas().getKeys()) {
+					for (Key key : getScene().getGame().getKeys()) {
 						if (key.checkPosition(x + 1, y)) {
 							// Get the key
 							getKey(key);
@@ -353,7 +343,7 @@ public class Player extends Object implements Constants {
 					}
 				}
 				else if (typeBottom instanceof Portal) {
-					getScene().getCanvas().getPortal().purifyGems();
+					getScene().getGame().getPortal().purifyGems();
 				}
 
 				super.moveRight();
@@ -408,13 +398,13 @@ public class Player extends Object implements Constants {
 		getLogger().info("Space bar pressed");
 		if (y > 0) {
 			if (getAnimation().getCurrentDirection() == Animation.Direction.UP) {
-				if (getScene().getCells().get(x).get(y - 1).getObject() instanceof Chest) {
+				if (getScene().getCell(x, y - 1).getObject() instanceof Chest) {
 					if (hasKey()) {
 						getLogger().info("Player opened chest");
 
 						gainHealth(2);
 
-						for (Chest chest : getScene().getCanvas().getChests()) {
+						for (Chest chest : getScene().getGame().getChests()) {
 							if (chest.checkPosition(x, y - 1)) {
 								if (chest.getState() == Chest.State.CLOSED) {
 									chest.setState(Chest.State.OPENING);
@@ -423,7 +413,7 @@ public class Player extends Object implements Constants {
 										gem.playGemSound();
 										gem.getCell().setObjectOnTop(gem);
 										addInventory(gem);
-										getScene().getCanvas().getPortal().setState(Portal.State.ACTIVE);
+										getScene().getGame().getPortal().setState(Portal.State.ACTIVE);
 									}
 									useKey();
 									break;
@@ -483,6 +473,21 @@ public class Player extends Object implements Constants {
 		return count;
 	}
 
+	/**
+	 * Get the number of keys the player has
+	 *
+	 * @return Returns the number of keys the player has
+	 */
+	public int getKeyCount() {
+		int count = 0;
+		for (Object object : carrying) {
+			if (object instanceof Key) {
+				count++;
+			}
+		}
+		return count;
+	}
+
 	/**
 	 * Removes a key from the player inventory
 	 */
@@ -567,9 +572,8 @@ public class Player extends Object implements Constants {
 			}
 		}
 		if (health == 0) {
-			setActive(false);
-			if (getScene().getCanvas().getGameStatus()) {
-				getScene().getCanvas().gameOver();
+			if (getScene().getGame().getGameStatus()) {
+				getScene().getGame().gameOver();
 			}
 		}
 	}
@@ -590,27 +594,22 @@ public class Player extends Object implements Constants {
 	}
 
 	/**
-	 * This runs when the thread starts
+	 * The player loses health every 250 ticks
+	 *
+	 * @return Returns the number of ticks between updates
+	 */
+	@Override
+	public int getUpdateTicks() {
+		return 250;
+	}
+
+	/**
+	 * The player slowly loses health
 	 */
 	@Override
-	public void run() {
-		super.run();
-		while (getActive()) {
-			try {
-				Thread.sleep(5000);
-			}
-			catch (InterruptedException e) {
-				getLogger().info(e.getMessage());
-			}
-			synchronized (this) {
-				if (health > 0) {
-					loseHealth(1);
-					getScene().getCanvas().repaint();
-				}
-				else {
-					setActive(false);
-				}
-			}
+	public void update() {
+		if (health > 0) {
+			loseHealth(1);
 		}
 	}
-}
+}
\ No newline at end of file
@@ -21,8 +21,8 @@ import cl.cromer.azaraka.Scene;
 import cl.cromer.azaraka.sound.Sound;
 import cl.cromer.azaraka.sound.SoundException;
 import cl.cromer.azaraka.sprite.Animation;
-import cl.cromer.azaraka.sprite.AnimationException;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -45,10 +45,6 @@ public class Portal extends Object implements Constants {
 	 * The portal sound when a gem is purified
 	 */
 	private Sound sound;
-	/**
-	 * The Portal instance
-	 */
-	private static Portal instance;
 
 	/**
 	 * Initialize the portal
@@ -56,53 +52,38 @@ public class Portal extends Object implements Constants {
 	 * @param scene The scene that contains the portal
 	 * @param cell  The cell the portal is in
 	 */
-	private Portal(Scene scene, Cell cell) {
+	public Portal(Scene scene, Cell cell) {
 		super(scene, cell);
 		setLogger(getLogger(this.getClass(), LogLevel.PORTAL));
 		loadPortalAnimations();
 	}
 
-	/**
-	 * Create an instance of the portal
-	 *
-	 * @param scene The scene the portal is in
-	 * @param cell  The cell the portal is in
-	 * @return Returns the Portal instance
-	 */
-	public static Portal getInstance(Scene scene, Cell cell) {
-		if (instance == null) {
-			synchronized (Portal.class) {
-				if (instance == null) {
-					instance = new Portal(scene, cell);
-				}
-			}
-		}
-		return instance;
-	}
-
-	/**
-	 * Delete the Portal instance
-	 */
-	public void deleteInstance() {
-		instance = null;
-	}
-
 	/**
 	 * Load the portal animation
 	 */
 	private void loadPortalAnimations() {
+		// Both animations are timed from the same clock so they stay on the same frame when the state changes
 		activeAnimation = new Animation();
-		for (int i = 0; i <= 119; i++) {
-			StringBuilder stringBuilder = new StringBuilder();
-			stringBuilder.append(i);
-			while (stringBuilder.length() < 3) {
-				stringBuilder.insert(0, 0);
-			}
-			stringBuilder.append(".png");
-			activeAnimation.addImage(Animation.Direction.NONE, "/img/portal/green/" + stringBuilder.toString());
-		}
+		activeAnimation.addImages(Animation.Direction.NONE, "portal/green");
+		activeAnimation.setFrameTicks(this::getTicks, 2, true);
+		activeAnimation.play();
 
 		inactiveAnimation = new Animation();
+		inactiveAnimation.addImages(Animation.Direction.NONE, "portal/gray");
+		inactiveAnimation.setFrameTicks(this::getTicks, 2, true);
+		inactiveAnimation.play();
+
+		setAnimation(inactiveAnimation);
+	}
+
+	/**
+	 * Get the paths to the frames of a portal animation, they are packed into the texture atlas
+	 *
+	 * @param colour The colour of the portal, green when it is active or gray when it is inactive
+	 * @return Returns the paths in the order of the frames
+	 */
+	public static List<String> getFramePaths(String colour) {
+		List<String> paths = new ArrayList<>();
 		for (int i = 0; i <= 119; i++) {
 			StringBuilder stringBuilder = new StringBuilder();
 			stringBuilder.append(i);
@@ -110,10 +91,9 @@ public class Portal extends Object implements Constants {
 				stringBuilder.insert(0, 0);
 			}
 			stringBuilder.append(".png");
-			inactiveAnimation.addImage(Animation.Direction.NONE, "/img/portal/gray/" + stringBuilder.toString());
+			paths.add("/img/portal/" + colour + "/" + stringBuilder.toString());
 		}
-
-		setAnimation(inactiveAnimation);
+		return paths;
 	}
 
 	/**
@@ -121,12 +101,12 @@ public class Portal extends Object implements Constants {
 	 */
 	public void purifyGems() {
 		if (state == State.ACTIVE) {
-			List<Gem> gems = getScene().getCanvas().getPlayer().getInventoryGems(true);
+			List<Gem> gems = getScene().getGame().getPlayer().getInventoryGems(true);
 			boolean purified = false;
 			for (Gem gem : gems) {
 				if (gem.getState() == Gem.State.TAINTED) {
 					gem.setState(Gem.State.PURIFIED);
-					getScene().getCanvas().getPlayer().gainHealth(2);
+					getScene().getGame().getPlayer().gainHealth(2);
 					if (!purified) {
 						purified = true;
 					}
@@ -155,8 +135,11 @@ public class Portal extends Object implements Constants {
 	 * Play the portal sound
 	 */
 	private void playPortalSound() {
+		if (sound == null) {
+			return;
+		}
 		try {
-			sound.setVolume(getScene().getCanvas().getVolume());
+			sound.setVolume(getScene().getGame().getVolume());
 			sound.play();
 		}
 		catch (SoundException e) {
@@ -164,18 +147,6 @@ public class Portal extends Object implements Constants {
 		}
 	}
 
-	/**
-	 * This method animates the portal
-	 */
-	private void animate() {
-		try {
-			getAnimation().getNextFrame();
-		}
-		catch (AnimationException e) {
-			getLogger().warning(e.getMessage());
-		}
-	}
-
 	/**
 	 * Get the current state of the portal
 	 *
@@ -195,51 +166,11 @@ public class Portal extends Object implements Constants {
 			playPortalSound();
 		}
 		this.state = state;
-		int frame = 0;
-		try {
-			frame = getAnimation().getCurrentFrame();
-		}
-		catch (AnimationException e) {
-			getLogger().warning(e.getMessage());
-		}
-
 		if (state == State.ACTIVE) {
 			setAnimation(activeAnimation);
-			try {
-				getAnimation().setCurrentFrame(frame);
-			}
-			catch (AnimationException e) {
-				getLogger().warning(e.getMessage());
-			}
 		}
 		else if (state == State.INACTIVE) {
 			setAnimation(inactiveAnimation);
-			try {
-				getAnimation().setCurrentFrame(frame);
-			}
-			catch (AnimationException e) {
-				getLogger().warning(e.getMessage());
-			}
-		}
-	}
-
-	/**
-	 * This method is run when the thread starts
-	 */
-	@Override
-	public void run() {
-		super.run();
-		while (getActive()) {
-			try {
-				Thread.sleep(35);
-			}
-			catch (InterruptedException e) {
-				getLogger().info(e.getMessage());
-			}
-			synchronized (this) {
-				animate();
-				getScene().getCanvas().repaint();
-			}
 		}
 	}
 
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka.replay;
+
+import cl.cromer.azaraka.Constants;
+import cl.cromer.azaraka.GameRandom;
+import cl.cromer.azaraka.GameSettings;
+import cl.cromer.azaraka.SceneLayout;
+import cl.cromer.azaraka.json.JsonCell;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class reads a replay, the file is mapped into memory and the events are read from it when they are needed
+ */
+public class Replay implements Constants {
+	/**
+	 * The number at the start of every replay
+	 */
+	static final int MAGIC = 0x415A5250;
+	/**
+	 * The version of the replay format
+	 */
+	static final short VERSION = 1;
+	/**
+	 * The mapped file
+	 */
+	private final ByteBuffer buffer;
+	/**
+	 * The seed of the match
+	 */
+	private final long seed;
+	/**
+	 * The settings of the match
+	 */
+	private final GameSettings settings;
+	/**
+	 * The grid of the match, null if the scene was generated manually
+	 */
+	private final JsonCell[][] jsonCells;
+	/**
+	 * The coordinates of the obstacles
+	 */
+	private final List<int[]> obstacles;
+	/**
+	 * The coordinates of the enemies
+	 */
+	private final List<int[]> enemies;
+	/**
+	 * The coordinates of the portal
+	 */
+	private final int[] portal;
+	/**
+	 * The coordinates of the keys
+	 */
+	private final List<int[]> keys;
+	/**
+	 * The coordinates of the chests
+	 */
+	private final List<int[]> chests;
+	/**
+	 * The position of the first event in the file
+	 */
+	private final int eventsStart;
+	/**
+	 * The number of complete events in the file
+	 */
+	private final int eventCount;
+
+	/**
+	 * Open a replay and read the start of the match
+	 *
+	 * @param file The replay file
+	 * @throws ReplayException Thrown if the file can't be read or is not a replay
+	 */
+	public Replay(File file) throws ReplayException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		catch (IOException e) {
+			throw new ReplayException("Could not read the replay " + file + ": " + e.getMessage());
+		}
+
+		try {
+			if (buffer.getInt() != MAGIC) {
+				throw new ReplayException(file + " is not a replay");
+			}
+			short version = buffer.getShort();
+			if (version != VERSION) {
+				throw new ReplayException("The replay " + file + " has the unknown version " + version);
+			}
+			seed = buffer.getLong();
+			PlayerAIType playerAI = PlayerAIType.values()[buffer.get()];
+			AIHeuristic heuristic = AIHeuristic.values()[buffer.get()];
+			settings = new GameSettings(playerAI, heuristic, buffer.get() & 0xff);
+
+			if (buffer.get() == 0) {
+				jsonCells = null;
+			}
+			else {
+				jsonCells = new JsonCell[buffer.get() & 0xff][buffer.get() & 0xff];
+				for (int x = 0; x < jsonCells.length; x++) {
+					for (int y = 0; y < jsonCells[x].length; y++) {
+						JsonCell jsonCell = new JsonCell();
+						byte[] type = new byte[buffer.get() & 0xff];
+						buffer.get(type);
+						jsonCell.type = JsonCell.Type.fromName(new String(type, StandardCharsets.UTF_8));
+						if (jsonCell.type == null) {
+							throw new ReplayException("The replay " + file + " has an unknown cell type");
+						}
+						int textures = buffer.get() & 0xff;
+						for (int i = 0; i < textures; i++) {
+							jsonCell.textures.add((int) buffer.getShort());
+						}
+						jsonCells[x][y] = jsonCell;
+					}
+				}
+			}
+
+			obstacles = readCoordinates();
+			enemies = readCoordinates();
+			portal = new int[]{buffer.get() & 0xff, buffer.get() & 0xff};
+			keys = readCoordinates();
+			chests = readCoordinates();
+		}
+		catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+			throw new ReplayException("The replay " + file + " is damaged");
+		}
+
+		eventsStart = buffer.position();
+		// An event that was only partly written when the game was closed is left out
+		eventCount = (buffer.limit() - eventsStart) / ReplayEvent.SIZE;
+	}
+
+	/**
+	 * Read a list of coordinates
+	 *
+	 * @return Returns the x and y coordinates
+	 */
+	private List<int[]> readCoordinates() {
+		int count = buffer.get() & 0xff;
+		List<int[]> coordinates = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			coordinates.add(new int[]{buffer.get() & 0xff, buffer.get() & 0xff});
+		}
+		return coordinates;
+	}
+
+	/**
+	 * Get the seed of the match
+	 *
+	 * @return Returns the seed
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Get the settings of the match
+	 *
+	 * @return Returns the settings
+	 */
+	public GameSettings getSettings() {
+		return settings;
+	}
+
+	/**
+	 * Make the layout of the match, a new one is made each time because the random numbers are used up by the game
+	 *
+	 * @return Returns the layout
+	 */
+	public SceneLayout getLayout() {
+		return new SceneLayout(jsonCells, settings, new GameRandom(seed), obstacles, enemies, portal, keys, chests);
+	}
+
+	/**
+	 * Get the number of events in the replay
+	 *
+	 * @return Returns the number of events
+	 */
+	public int getEventCount() {
+		return eventCount;
+	}
+
+	/**
+	 * Read an event
+	 *
+	 * @param index The index of the event
+	 * @return Returns the event
+	 * @throws ReplayException Thrown if the event is not valid
+	 */
+	public ReplayEvent getEvent(int index) throws ReplayException {
+		int position = eventsStart + index * ReplayEvent.SIZE;
+		int type = buffer.get(position + 4);
+		if (type < 0 || type >= ReplayEvent.Type.values().length) {
+			throw new ReplayException("The event " + index + " of the replay is damaged");
+		}
+		return new ReplayEvent(buffer.getInt(position), ReplayEvent.Type.values()[type], buffer.get(position + 5) & 0xff, buffer.getShort(position + 6) & 0xffff);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka.replay;
+
+/**
+ * This class is something that changed the game during a tick, the events are stored one after another in the replay
+ * with a fixed size so that any of them can be read directly
+ */
+public class ReplayEvent {
+	/**
+	 * The number of bytes an event takes in the replay
+	 */
+	public static final int SIZE = 8;
+	/**
+	 * The tick the event happened in
+	 */
+	private final long tick;
+	/**
+	 * The type of event
+	 */
+	private final Type type;
+	/**
+	 * The enemy the event is for, 0 if it is not for an enemy
+	 */
+	private final int target;
+	/**
+	 * The key code or the direction
+	 */
+	private final int value;
+
+	/**
+	 * Initialize the event
+	 *
+	 * @param tick   The tick the event happened in
+	 * @param type   The type of event
+	 * @param target The enemy the event is for, 0 if it is not for an enemy
+	 * @param value  The key code or the direction
+	 */
+	public ReplayEvent(long tick, Type type, int target, int value) {
+		this.tick = tick;
+		this.type = type;
+		this.target = target;
+		this.value = value;
+	}
+
+	/**
+	 * Get the tick the event happened in
+	 *
+	 * @return Returns the tick
+	 */
+	public long getTick() {
+		return tick;
+	}
+
+	/**
+	 * Get the type of event
+	 *
+	 * @return Returns the type
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * Get the enemy the event is for
+	 *
+	 * @return Returns the index of the enemy in the game
+	 */
+	public int getTarget() {
+		return target;
+	}
+
+	/**
+	 * Get the key code or the direction of the event
+	 *
+	 * @return Returns the value
+	 */
+	public int getValue() {
+		return value;
+	}
+
+	/**
+	 * The types of events
+	 */
+	public enum Type {
+		/**
+		 * A key pressed by a person, it is handled at the start of the tick
+		 */
+		INPUT,
+		/**
+		 * A key pressed by the player AI
+		 */
+		PLAYER_KEY,
+		/**
+		 * The player AI interacted with an object
+		 */
+		PLAYER_INTERACT,
+		/**
+		 * An enemy AI moved its enemy
+		 */
+		ENEMY_MOVE,
+		/**
+		 * The recording ended
+		 */
+		END
+	}
+}
\ No newline at end of file
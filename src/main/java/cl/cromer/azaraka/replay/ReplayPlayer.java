@@ -0,0 +1,147 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka.replay;
+
+import cl.cromer.azaraka.Constants;
+import cl.cromer.azaraka.Game;
+import cl.cromer.azaraka.Updatable;
+import cl.cromer.azaraka.object.Enemy;
+
+import java.util.logging.Logger;
+
+/**
+ * This class plays a replay by doing what the AI and the person did in the same ticks, it takes the place of the AI in
+ * the game loop
+ */
+public class ReplayPlayer implements Updatable, Constants {
+	/**
+	 * The logger
+	 */
+	private final Logger logger;
+	/**
+	 * The game the replay is played in
+	 */
+	private final Game game;
+	/**
+	 * The replay to play
+	 */
+	private final Replay replay;
+	/**
+	 * The index of the next event
+	 */
+	private int next = 0;
+
+	/**
+	 * Initialize the replay player
+	 *
+	 * @param game   The game the replay is played in, it has to use the layout of the replay
+	 * @param replay The replay to play
+	 */
+	public ReplayPlayer(Game game, Replay replay) {
+		logger = getLogger(this.getClass(), LogLevel.REPLAY);
+		this.game = game;
+		this.replay = replay;
+	}
+
+	/**
+	 * Queue the keys that were pressed in the first tick, this is called before the game loop starts
+	 */
+	public void start() {
+		try {
+			queueInputs(1);
+		}
+		catch (ReplayException e) {
+			logger.warning(e.getMessage());
+		}
+	}
+
+	/**
+	 * Queue the keys that were pressed by a person in a tick, they were handled at the start of the tick so they are
+	 * queued at the end of the tick before
+	 *
+	 * @param tick The tick
+	 * @throws ReplayException Thrown if an event is not valid
+	 */
+	private void queueInputs(long tick) throws ReplayException {
+		for (int i = next; i < replay.getEventCount(); i++) {
+			ReplayEvent event = replay.getEvent(i);
+			if (event.getTick() != tick || event.getType() != ReplayEvent.Type.INPUT) {
+				break;
+			}
+			game.keyPressed(event.getValue());
+		}
+	}
+
+	/**
+	 * Do what happened in an event
+	 *
+	 * @param event The event
+	 */
+	private void play(ReplayEvent event) {
+		switch (event.getType()) {
+			case PLAYER_KEY:
+				game.getPlayer().keyPressed(event.getValue());
+				break;
+			case PLAYER_INTERACT:
+				game.getPlayer().interact();
+				break;
+			case ENEMY_MOVE:
+				game.getEnemies().get(event.getTarget()).move(Enemy.Direction.values()[event.getValue()]);
+				break;
+		}
+	}
+
+	/**
+	 * The events are played every tick
+	 *
+	 * @return Returns 1
+	 */
+	@Override
+	public int getUpdateTicks() {
+		return 1;
+	}
+
+	/**
+	 * Play the events of the current tick, the game is stopped when the replay ends
+	 */
+	@Override
+	public void update() {
+		long tick = game.getTicks();
+		try {
+			while (next < replay.getEventCount()) {
+				ReplayEvent event = replay.getEvent(next);
+				if (event.getTick() > tick) {
+					break;
+				}
+				next++;
+				play(event);
+				if (!game.getGameStatus()) {
+					return;
+				}
+			}
+			if (next == replay.getEventCount()) {
+				logger.info("The replay ended");
+				game.stop();
+				return;
+			}
+			queueInputs(tick + 1);
+		}
+		catch (ReplayException | IndexOutOfBoundsException e) {
+			logger.warning(e.getMessage());
+			game.stop();
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka.replay;
+
+import cl.cromer.azaraka.Constants;
+import cl.cromer.azaraka.GameSettings;
+import cl.cromer.azaraka.SceneLayout;
+import cl.cromer.azaraka.json.JsonCell;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * This class records a match to a file, the seed, settings and layout are written first and then the events are added
+ * to the end as they happen
+ */
+public class ReplayWriter implements Constants {
+	/**
+	 * The directory the replays are written to
+	 */
+	private static final String DIRECTORY = "replay";
+	/**
+	 * The logger
+	 */
+	private final Logger logger;
+	/**
+	 * The stream the replay is written to, null once it is closed
+	 */
+	private DataOutputStream output;
+
+	/**
+	 * Initialize the replay writer and write the start of the match
+	 *
+	 * @param file   The file to write the replay to
+	 * @param layout The layout of the match
+	 * @throws ReplayException Thrown if the file can't be written
+	 */
+	public ReplayWriter(File file, SceneLayout layout) throws ReplayException {
+		logger = getLogger(this.getClass(), LogLevel.REPLAY);
+		try {
+			output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+			writeHeader(layout);
+		}
+		catch (IOException e) {
+			close();
+			throw new ReplayException("Could not write the replay " + file + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Get a new file in the replay directory for a match
+	 *
+	 * @param seed The seed of the match
+	 * @return Returns the file
+	 * @throws ReplayException Thrown if the directory can't be made
+	 */
+	public static File getReplayFile(long seed) throws ReplayException {
+		File directory = new File(DIRECTORY);
+		if (!directory.exists() && !directory.mkdirs()) {
+			throw new ReplayException("Could not make directory " + DIRECTORY);
+		}
+		String date = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+		return new File(directory, date + "_" + seed + ".azr");
+	}
+
+	/**
+	 * Write the seed, the settings and the layout of the match
+	 *
+	 * @param layout The layout of the match
+	 * @throws IOException Thrown if the file can't be written
+	 */
+	private void writeHeader(SceneLayout layout) throws IOException {
+		output.writeInt(Replay.MAGIC);
+		output.writeShort(Replay.VERSION);
+		output.writeLong(layout.getGameRandom().getSeed());
+
+		GameSettings settings = layout.getSettings();
+		output.writeByte(settings.getPlayerAI().ordinal());
+		output.writeByte(settings.getAIHeuristic().ordinal());
+		output.writeByte(settings.getEnemies());
+
+		JsonCell[][] jsonCells = layout.getJsonCells();
+		if (jsonCells == null) {
+			output.writeByte(0);
+		}
+		else {
+			output.writeByte(1);
+			output.writeByte(jsonCells.length);
+			output.writeByte(jsonCells[0].length);
+			for (JsonCell[] column : jsonCells) {
+				for (JsonCell jsonCell : column) {
+					byte[] type = jsonCell.type.getName().getBytes(StandardCharsets.UTF_8);
+					output.writeByte(type.length);
+					output.write(type);
+					output.writeByte(jsonCell.textures.size());
+					for (int texture : jsonCell.textures) {
+						output.writeShort(texture);
+					}
+				}
+			}
+		}
+
+		writeCoordinates(layout.getObstacles());
+		writeCoordinates(layout.getEnemies());
+		output.writeByte(layout.getPortal()[0]);
+		output.writeByte(layout.getPortal()[1]);
+		writeCoordinates(layout.getKeys());
+		writeCoordinates(layout.getChests());
+	}
+
+	/**
+	 * Write a list of coordinates
+	 *
+	 * @param coordinates The x and y coordinates
+	 * @throws IOException Thrown if the file can't be written
+	 */
+	private void writeCoordinates(List<int[]> coordinates) throws IOException {
+		output.writeByte(coordinates.size());
+		for (int[] coordinate : coordinates) {
+			output.writeByte(coordinate[0]);
+			output.writeByte(coordinate[1]);
+		}
+	}
+
+	/**
+	 * Add an event to the end of the replay, the recording stops if it can't be written
+	 *
+	 * @param tick   The tick the event happened in
+	 * @param type   The type of event
+	 * @param target The enemy the event is for, 0 if it is not for an enemy
+	 * @param value  The key code or the direction
+	 */
+	public synchronized void write(long tick, ReplayEvent.Type type, int target, int value) {
+		if (output == null) {
+			return;
+		}
+		try {
+			output.writeInt((int) tick);
+			output.writeByte(type.ordinal());
+			output.writeByte(target);
+			output.writeShort(value);
+		}
+		catch (IOException e) {
+			logger.warning(e.getMessage());
+			close();
+		}
+	}
+
+	/**
+	 * Mark the end of the match and close the file
+	 *
+	 * @param tick The tick the match ended in
+	 */
+	public synchronized void end(long tick) {
+		write(tick, ReplayEvent.Type.END, 0, 0);
+		close();
+	}
+
+	/**
+	 * Close the file, nothing else is written after this
+	 */
+	private synchronized void close() {
+		if (output == null) {
+			return;
+		}
+		try {
+			output.close();
+		}
+		catch (IOException e) {
+			logger.warning(e.getMessage());
+		}
+		output = null;
+	}
+}
\ No newline at end of file
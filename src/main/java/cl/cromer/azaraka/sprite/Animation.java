@@ -17,7 +17,6 @@ package cl.cromer.azaraka.sprite;
 
 import cl.cromer.azaraka.Constants;
 
-import javax.imageio.ImageIO;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
@@ -26,6 +25,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.LongSupplier;
 import java.util.logging.Logger;
 
 /**
@@ -56,6 +56,38 @@ public class Animation implements Cloneable, Constants {
 	 * The direction of the image to show
 	 */
 	private Direction currentDirection = Direction.NONE;
+	/**
+	 * The clock the frames are timed with, null if the frames are changed manually
+	 */
+	private LongSupplier clock = null;
+	/**
+	 * The number of ticks of the clock that each frame is shown for
+	 */
+	private int frameTicks = 0;
+	/**
+	 * Whether the frames start over after the last frame or stay on the last frame
+	 */
+	private boolean loop = true;
+	/**
+	 * Whether the timed frames are playing, if not the current frame is shown
+	 */
+	private boolean playing = false;
+	/**
+	 * The time of the clock when the first frame was shown
+	 */
+	private long startTime = 0;
+	/**
+	 * The frames that have already been scaled, so each frame is only scaled once
+	 */
+	private final Map<BufferedImage, BufferedImage> scaledImages = new HashMap<>();
+	/**
+	 * The width of the scaled frames
+	 */
+	private int scaledWidth = 0;
+	/**
+	 * The height of the scaled frames
+	 */
+	private int scaledHeight = 0;
 
 	/**
 	 * Initialize the sprite
@@ -73,7 +105,6 @@ public class Animation implements Cloneable, Constants {
 	 * @param height The new height
 	 * @return Returns the scaled image
 	 */
-	@SuppressWarnings("unused")
 	public static BufferedImage scaleImage(BufferedImage image, int width, int height) {
 		Image tmpImage = image.getScaledInstance(width, height, BufferedImage.SCALE_SMOOTH);
 		BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
@@ -83,6 +114,82 @@ public class Animation implements Cloneable, Constants {
 		return resized;
 	}
 
+	/**
+	 * Time the frames with a clock instead of changing them manually, the frame to show is worked out from the clock
+	 * when it is drawn so nothing has to advance the frames, call play to start the frames
+	 *
+	 * @param clock      The clock to time the frames with, e.g. the ticks of the game
+	 * @param frameTicks The number of ticks of the clock that each frame is shown for
+	 * @param loop       If true the frames start over after the last one, otherwise they stop on the last one
+	 */
+	public void setFrameTicks(LongSupplier clock, int frameTicks, boolean loop) {
+		this.clock = clock;
+		this.frameTicks = Math.max(1, frameTicks);
+		this.loop = loop;
+	}
+
+	/**
+	 * Start showing the timed frames from the current frame
+	 */
+	public void play() {
+		if (clock != null) {
+			startTime = clock.getAsLong() - (long) currentFrame * frameTicks;
+			playing = true;
+		}
+	}
+
+	/**
+	 * Stop the timed frames on the frame that is being shown
+	 */
+	public void stop() {
+		if (playing) {
+			try {
+				currentFrame = getTimedFrame(getImagesFromHash().size());
+			}
+			catch (AnimationException e) {
+				currentFrame = 0;
+			}
+			playing = false;
+		}
+	}
+
+	/**
+	 * Check if the timed frames have reached the last frame, a looping animation never finishes
+	 *
+	 * @return Returns true if the last frame is being shown
+	 * @throws AnimationException Thrown when there are no images in the sprite
+	 */
+	public boolean isFinished() throws AnimationException {
+		return !loop && getCurrentFrame() == getFrameCount() - 1;
+	}
+
+	/**
+	 * Work out the frame to show from the clock
+	 *
+	 * @param frameCount The number of frames in the animation
+	 * @return Returns the frame number
+	 */
+	private int getTimedFrame(int frameCount) {
+		long frame = Math.max(0, (clock.getAsLong() - startTime) / frameTicks);
+		if (loop) {
+			return (int) (frame % frameCount);
+		}
+		return (int) Math.min(frame, frameCount - 1);
+	}
+
+	/**
+	 * Get the frame number being shown
+	 *
+	 * @param images The images of the current direction
+	 * @return Returns the frame number
+	 */
+	private int getFrameNumber(List<BufferedImage> images) {
+		if (playing) {
+			return getTimedFrame(images.size());
+		}
+		return currentFrame;
+	}
+
 	/**
 	 * Get the offset of x for the sprite
 	 *
@@ -148,7 +255,7 @@ public class Animation implements Cloneable, Constants {
 	 */
 	public void addImage(Direction direction, String path) {
 		try {
-			BufferedImage bufferedImage = ImageIO.read(getClass().getResourceAsStream(path));
+			BufferedImage bufferedImage = AssetCache.getInstance().getImage(path);
 			addImageToList(direction, bufferedImage);
 		}
 		catch (IOException | IllegalArgumentException e) {
@@ -167,6 +274,23 @@ public class Animation implements Cloneable, Constants {
 		addImageToList(direction, bufferedImage);
 	}
 
+	/**
+	 * Add all the frames of a sequence in the texture atlas to the animation
+	 *
+	 * @param direction The direction to add the images to
+	 * @param sequence  The name of the sequence in the texture atlas, e.g. portal/green
+	 */
+	public void addImages(Direction direction, String sequence) {
+		try {
+			for (BufferedImage bufferedImage : AssetCache.getInstance().getTextureAtlas().getFrames(sequence)) {
+				addImageToList(direction, bufferedImage);
+			}
+		}
+		catch (SheetException e) {
+			logger.warning(e.getMessage());
+		}
+	}
+
 	/**
 	 * Add an image to the list of images
 	 *
@@ -196,10 +320,35 @@ public class Animation implements Cloneable, Constants {
 	 */
 	public BufferedImage getFrame() throws AnimationException {
 		List<BufferedImage> images = getImagesFromHash();
-		if (currentFrame >= images.size()) {
-			throw new AnimationException("Animation does not have frame: " + currentFrame);
+		int frame = getFrameNumber(images);
+		if (frame >= images.size()) {
+			throw new AnimationException("Animation does not have frame: " + frame);
+		}
+		return images.get(frame);
+	}
+
+	/**
+	 * Returns the current frame in the sprite scaled to the given size, the scaled frames are cached
+	 *
+	 * @param width  The width to scale to
+	 * @param height The height to scale to
+	 * @return Returns the scaled frame
+	 * @throws AnimationException Thrown when there are no images in the sprite
+	 */
+	public BufferedImage getScaledFrame(int width, int height) throws AnimationException {
+		BufferedImage frame = getFrame();
+		if (width != scaledWidth || height != scaledHeight) {
+			// The size changed, so the frames scaled before are no longer needed
+			scaledImages.clear();
+			scaledWidth = width;
+			scaledHeight = height;
+		}
+		BufferedImage scaled = scaledImages.get(frame);
+		if (scaled == null) {
+			scaled = AssetCache.getInstance().toCompatibleImage(scaleImage(frame, width, height));
+			scaledImages.put(frame, scaled);
 		}
-		return images.get(currentFrame);
+		return scaled;
 	}
 
 	/**
@@ -230,7 +379,7 @@ public class Animation implements Cloneable, Constants {
 			throw new AnimationException("There is no direction assigned to the animation!");
 		}
 
-		return currentFrame;
+		return getFrameNumber(images);
 	}
 
 	/**
@@ -255,6 +404,10 @@ public class Animation implements Cloneable, Constants {
 			throw new AnimationException("The frame does not exist inside the sprite!");
 		}
 		currentFrame = frame;
+		if (playing) {
+			// Keep playing from the new frame
+			play();
+		}
 	}
 
 	/**
@@ -264,10 +417,13 @@ public class Animation implements Cloneable, Constants {
 	 */
 	public void getNextFrame() throws AnimationException {
 		List<BufferedImage> images = getImagesFromHash();
-		currentFrame++;
+		currentFrame = getFrameNumber(images) + 1;
 		if (currentFrame >= images.size()) {
 			currentFrame = 0;
 		}
+		if (playing) {
+			play();
+		}
 	}
 
 	/**
@@ -309,6 +465,9 @@ public class Animation implements Cloneable, Constants {
 	public void setCurrentDirection(Direction currentDirection) {
 		this.currentDirection = currentDirection;
 		currentFrame = 0;
+		if (playing) {
+			play();
+		}
 	}
 
 	/**
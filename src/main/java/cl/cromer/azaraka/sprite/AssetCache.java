@@ -0,0 +1,204 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka.sprite;
+
+import cl.cromer.azaraka.Constants;
+
+import javax.imageio.ImageIO;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * This class keeps the images and sheets that have been loaded so that each one is only decoded once, the images are
+ * shared by everything that uses them so they must not be modified
+ */
+public class AssetCache implements Constants {
+	/**
+	 * The instance of the asset cache
+	 */
+	private static volatile AssetCache instance = null;
+	/**
+	 * The images that have been loaded or are being loaded, by path
+	 */
+	private final Map<String, FutureTask<BufferedImage>> images = new ConcurrentHashMap<>();
+	/**
+	 * The sheets that have been loaded, by path and texture size
+	 */
+	private final Map<String, Sheet> sheets = new ConcurrentHashMap<>();
+	/**
+	 * The texture atlas, loaded the first time it is needed
+	 */
+	private volatile TextureAtlas textureAtlas = null;
+	/**
+	 * The configuration of the screen the images are drawn to, null if there is no screen
+	 */
+	private final GraphicsConfiguration graphicsConfiguration;
+
+	/**
+	 * Initialize the asset cache
+	 */
+	private AssetCache() {
+		if (GraphicsEnvironment.isHeadless()) {
+			graphicsConfiguration = null;
+		}
+		else {
+			graphicsConfiguration = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+		}
+	}
+
+	/**
+	 * Get the instance of the asset cache, it is shared by every game until the application is closed
+	 *
+	 * @return Returns the asset cache
+	 */
+	public static AssetCache getInstance() {
+		if (instance == null) {
+			synchronized (AssetCache.class) {
+				if (instance == null) {
+					instance = new AssetCache();
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Get an image, it is read from the resources the first time it is asked for, if another thread is already reading
+	 * it this waits for that thread instead of reading it again
+	 *
+	 * @param path The path to the image
+	 * @return Returns the image
+	 * @throws IOException Thrown if the image could not be read
+	 */
+	public BufferedImage getImage(String path) throws IOException {
+		FutureTask<BufferedImage> task = images.get(path);
+		if (task == null) {
+			FutureTask<BufferedImage> newTask = new FutureTask<>(() -> readImage(path));
+			task = images.putIfAbsent(path, newTask);
+			if (task == null) {
+				task = newTask;
+				task.run();
+			}
+		}
+		try {
+			return task.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while loading image: " + path);
+		}
+		catch (ExecutionException e) {
+			// Don't keep the failure so that the image can be tried again
+			images.remove(path, task);
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IOException(e.getCause());
+		}
+	}
+
+	/**
+	 * Read the source image of a sheet, it is not kept in the cache because the sheet only keeps the textures it cuts
+	 * from it
+	 *
+	 * @param path The path to the image
+	 * @return Returns the image
+	 * @throws IOException Thrown if the image could not be read
+	 */
+	BufferedImage readSheetImage(String path) throws IOException {
+		return readImage(path);
+	}
+
+	/**
+	 * Read and decode an image from the resources
+	 *
+	 * @param path The path to the image
+	 * @return Returns the image
+	 * @throws IOException Thrown if the image could not be read
+	 */
+	private BufferedImage readImage(String path) throws IOException {
+		InputStream inputStream = getClass().getResourceAsStream(path);
+		if (inputStream == null) {
+			throw new IOException("Image not found: " + path);
+		}
+		BufferedImage image = ImageIO.read(inputStream);
+		if (image == null) {
+			throw new IOException("Image could not be decoded: " + path);
+		}
+		return toCompatibleImage(image);
+	}
+
+	/**
+	 * Copy an image into a new image with the pixel layout of the screen so that drawing it can be accelerated, the copy
+	 * has its own raster so a sub-image no longer keeps the whole parent image in memory
+	 *
+	 * @param image The image to copy
+	 * @return Returns the copy of the image
+	 */
+	public BufferedImage toCompatibleImage(BufferedImage image) {
+		BufferedImage compatibleImage;
+		if (graphicsConfiguration != null) {
+			compatibleImage = graphicsConfiguration.createCompatibleImage(image.getWidth(), image.getHeight(), image.getTransparency());
+		}
+		else {
+			int type = image.getTransparency() == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+			compatibleImage = new BufferedImage(image.getWidth(), image.getHeight(), type);
+		}
+		Graphics2D graphics2D = compatibleImage.createGraphics();
+		graphics2D.setComposite(AlphaComposite.Src);
+		graphics2D.drawImage(image, 0, 0, null);
+		graphics2D.dispose();
+		return compatibleImage;
+	}
+
+	/**
+	 * Get the texture atlas, its index is read the first time it is asked for
+	 *
+	 * @return Returns the texture atlas
+	 */
+	public TextureAtlas getTextureAtlas() {
+		if (textureAtlas == null) {
+			synchronized (this) {
+				if (textureAtlas == null) {
+					textureAtlas = new TextureAtlas();
+				}
+			}
+		}
+		return textureAtlas;
+	}
+
+	/**
+	 * Get a sheet, it is read and cut into textures the first time it is asked for
+	 *
+	 * @param path   The path to the image
+	 * @param height The height of the textures in the image
+	 * @param width  The width of the textures in the image
+	 * @return Returns the sheet
+	 */
+	public Sheet getSheet(String path, int height, int width) {
+		return sheets.computeIfAbsent(path + ":" + height + "x" + width, key -> new Sheet(path, height, width));
+	}
+}
\ No newline at end of file
@@ -17,7 +17,6 @@ package cl.cromer.azaraka.sprite;
 
 import cl.cromer.azaraka.Constants;
 
-import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -44,13 +43,14 @@ public class Sheet implements Constants {
 		Logger logger = getLogger(this.getClass(), LogLevel.SHEET);
 
 		try {
-			BufferedImage image = ImageIO.read(getClass().getResourceAsStream(path));
+			AssetCache assetCache = AssetCache.getInstance();
+			BufferedImage image = assetCache.readSheetImage(path);
 			int columns = image.getWidth() / width;
 			int rows = image.getHeight() / height;
 			for (int i = 0; i < rows; i++) {
 				for (int j = 0; j < columns; j++) {
 					BufferedImage subImage = image.getSubimage(j * width, i * height, width, height);
-					images.add(subImage);
+					images.add(assetCache.toCompatibleImage(subImage));
 				}
 			}
 		}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka.sprite;
+
+import cl.cromer.azaraka.Constants;
+import cl.cromer.azaraka.json.Json;
+import cl.cromer.azaraka.json.JsonSequence;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class gives the frames of the animations that are packed together in the texture atlas, each sequence is a
+ * single image that is cut into frames using the index of the atlas
+ */
+public class TextureAtlas implements Constants {
+	/**
+	 * The sequences in the atlas by name
+	 */
+	private final Map<String, JsonSequence> sequences;
+
+	/**
+	 * Load the index of the texture atlas
+	 */
+	public TextureAtlas() {
+		Json json = new Json();
+		Map<String, JsonSequence> index = json.importAtlas();
+		if (index == null) {
+			index = new HashMap<>();
+		}
+		sequences = index;
+	}
+
+	/**
+	 * Get the frames of a sequence
+	 *
+	 * @param name The name of the sequence, e.g. portal/green
+	 * @return Returns the frames in order
+	 * @throws SheetException Thrown if the sequence is not in the atlas or its image could not be loaded
+	 */
+	public List<BufferedImage> getFrames(String name) throws SheetException {
+		JsonSequence sequence = sequences.get(name);
+		if (sequence == null) {
+			throw new SheetException("The sequence " + name + " is not in the texture atlas!");
+		}
+		Sheet sheet = AssetCache.getInstance().getSheet(sequence.image, sequence.height, sequence.width);
+		List<BufferedImage> frames = new ArrayList<>(sequence.frames);
+		for (int i = 0; i < sequence.frames; i++) {
+			frames.add(sheet.getTexture(i));
+		}
+		return frames;
+	}
+
+	/**
+	 * Get the names of the sequences in the atlas
+	 *
+	 * @return Returns the names
+	 */
+	public List<String> getSequenceNames() {
+		return new ArrayList<>(sequences.keySet());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020 Chris Cromer
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ *
+ */
+
+package cl.cromer.azaraka.sprite;
+
+import cl.cromer.azaraka.Constants;
+import cl.cromer.azaraka.json.Json;
+import cl.cromer.azaraka.json.JsonSequence;
+
+import javax.imageio.ImageIO;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * This class packs sequences of frames that are in separate files into the images of the texture atlas and writes them
+ * and the index to the resources
+ */
+public class TextureAtlasBuilder implements Constants {
+	/**
+	 * The directory the atlas is written to
+	 */
+	private static final String DIRECTORY = "src/main/resources/img/atlas";
+	/**
+	 * The logger
+	 */
+	private final Logger logger;
+	/**
+	 * The sequences that have been packed by name
+	 */
+	private final Map<String, JsonSequence> sequences = new LinkedHashMap<>();
+
+	/**
+	 * Initialize the texture atlas builder
+	 */
+	public TextureAtlasBuilder() {
+		logger = getLogger(this.getClass(), LogLevel.SHEET);
+	}
+
+	/**
+	 * Pack a sequence of frames into a single image in a grid that is as square as possible and write it
+	 *
+	 * @param name       The name of the sequence, e.g. portal/green
+	 * @param framePaths The paths to the frames in order, they all have to be the same size
+	 */
+	public void add(String name, List<String> framePaths) {
+		List<BufferedImage> frames = new ArrayList<>();
+		try {
+			for (String path : framePaths) {
+				frames.add(AssetCache.getInstance().getImage(path));
+			}
+		}
+		catch (IOException e) {
+			logger.warning(e.getMessage());
+			return;
+		}
+		if (frames.size() == 0) {
+			logger.warning("The sequence " + name + " has no frames");
+			return;
+		}
+
+		int width = frames.get(0).getWidth();
+		int height = frames.get(0).getHeight();
+		for (BufferedImage frame : frames) {
+			if (frame.getWidth() != width || frame.getHeight() != height) {
+				logger.warning("The frames of the sequence " + name + " are not all the same size");
+				return;
+			}
+		}
+
+		int columns = (int) Math.ceil(Math.sqrt(frames.size()));
+		int rows = (frames.size() + columns - 1) / columns;
+		BufferedImage image = new BufferedImage(columns * width, rows * height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics2D = image.createGraphics();
+		// Copy the pixels as they are instead of blending them, so the frames come out of the atlas unchanged
+		graphics2D.setComposite(AlphaComposite.Src);
+		for (int i = 0; i < frames.size(); i++) {
+			graphics2D.drawImage(frames.get(i), (i % columns) * width, (i / columns) * height, null);
+		}
+		graphics2D.dispose();
+
+		String fileName = name.replace('/', '-') + ".png";
+		File directory = new File(DIRECTORY);
+		if (!directory.exists() && !directory.mkdirs()) {
+			logger.warning("Could not make directory " + DIRECTORY);
+			return;
+		}
+		try {
+			ImageIO.write(image, "png", new File(directory, fileName));
+		}
+		catch (IOException e) {
+			logger.warning(e.getMessage());
+			return;
+		}
+
+		JsonSequence sequence = new JsonSequence();
+		sequence.image = "/img/atlas/" + fileName;
+		sequence.width = width;
+		sequence.height = height;
+		sequence.frames = frames.size();
+		sequences.put(name, sequence);
+	}
+
+	/**
+	 * Write the index of the sequences that were packed
+	 */
+	public void writeIndex() {
+		Json json = new Json();
+		json.exportAtlas(sequences);
+	}
+}
\ No newline at end of file